@@ -0,0 +1,52 @@
+package com.example.jobportal.analytics.controller;
+
+import com.example.jobportal.analytics.dto.DailyApplicationsPoint;
+import com.example.jobportal.analytics.dto.StageTimeReport;
+import com.example.jobportal.analytics.service.ApplicationRollupService;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class AnalyticsController {
+
+    private final ApplicationRollupService applicationRollupService;
+
+    public AnalyticsController(ApplicationRollupService applicationRollupService) {
+        this.applicationRollupService = applicationRollupService;
+    }
+
+    @GetMapping("/applications/daily")
+    public ResponseEntity<List<DailyApplicationsPoint>> getDailyApplications(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @RequestParam(value = "jobId", required = false) String jobId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view analytics.");
+
+        List<DailyApplicationsPoint> points = applicationRollupService.getDailyApplications(principal, jobId, from, to);
+        return ResponseEntity.ok(points);
+    }
+
+    @GetMapping("/applications/stage-times")
+    public ResponseEntity<StageTimeReport> getStageTimes(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @RequestParam(value = "jobId", required = false) String jobId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view analytics.");
+
+        StageTimeReport report = applicationRollupService.getStageTimes(principal, jobId, from, to);
+        return ResponseEntity.ok(report);
+    }
+}
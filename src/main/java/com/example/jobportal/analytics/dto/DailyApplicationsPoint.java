@@ -0,0 +1,21 @@
+package com.example.jobportal.analytics.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailyApplicationsPoint {
+    private LocalDate day;
+    private long applied;
+    private Map<ApplicationStatus, Long> entered;
+    private long hired;
+}
@@ -0,0 +1,25 @@
+package com.example.jobportal.analytics.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StageTimeReport {
+    private String jobId;
+    private LocalDate from;
+    private LocalDate to;
+    // Mean time spent in each stage by applications that left it in the range
+    private Map<ApplicationStatus, Long> averageStageMillis;
+    private Map<ApplicationStatus, Long> stageExits;
+    private long hired;
+    private Long averageTimeToHireMillis;
+}
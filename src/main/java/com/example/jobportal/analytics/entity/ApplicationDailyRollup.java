@@ -0,0 +1,50 @@
+package com.example.jobportal.analytics.entity;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application activity of one job on one UTC day, maintained with {@code $inc}. Stage time is
+ * booked on the day an application leaves the stage, time-to-hire on the day of the hire.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "application_daily_rollups")
+@CompoundIndex(name = "company_day_idx", def = "{'companyId': 1, 'day': 1}")
+@CompoundIndex(name = "job_day_idx", def = "{'jobId': 1, 'day': 1}")
+public class ApplicationDailyRollup {
+    // How many of the latest submission events a bucket remembers for deduplicating redeliveries
+    public static final int RECENT_EVENT_IDS = 500;
+
+    // companyId:jobId:yyyy-MM-dd
+    @Id
+    private String id;
+    private String companyId;
+    private String jobId;
+    private Date day;
+
+    private long applied;
+    // Applications that moved into each status
+    private Map<ApplicationStatus, Long> entered;
+    // Applications that left each status, and the total milliseconds they had spent in it
+    private Map<ApplicationStatus, Long> stageExits;
+    private Map<ApplicationStatus, Long> stageMillis;
+    private long hired;
+    private long timeToHireMillis;
+    // Ids of the latest outbox events counted in applied; a redelivered event is skipped
+    @JsonIgnore
+    private List<String> appliedEventIds;
+}
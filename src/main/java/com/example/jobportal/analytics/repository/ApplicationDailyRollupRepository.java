@@ -0,0 +1,15 @@
+package com.example.jobportal.analytics.repository;
+
+import com.example.jobportal.analytics.entity.ApplicationDailyRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface ApplicationDailyRollupRepository extends MongoRepository<ApplicationDailyRollup, String> {
+    List<ApplicationDailyRollup> findAllByCompanyIdAndDayBetweenOrderByDayAsc(String companyId, Date from, Date to);
+
+    List<ApplicationDailyRollup> findAllByCompanyIdAndJobIdAndDayBetweenOrderByDayAsc(String companyId, String jobId, Date from, Date to);
+}
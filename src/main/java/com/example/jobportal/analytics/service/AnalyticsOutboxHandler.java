@@ -0,0 +1,36 @@
+package com.example.jobportal.analytics.service;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.OutboxEventType;
+import com.example.jobportal.application.service.OutboxEventHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts submissions in the daily rollups. Like the funnel, the increments are guarded by event
+ * id, so a redelivered event is not counted again.
+ */
+@Component
+public class AnalyticsOutboxHandler implements OutboxEventHandler {
+
+    private final ApplicationRollupService applicationRollupService;
+
+    public AnalyticsOutboxHandler(ApplicationRollupService applicationRollupService) {
+        this.applicationRollupService = applicationRollupService;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.UPDATE_ANALYTICS;
+    }
+
+    @Override
+    public void handle(List<Delivery> deliveries) {
+        Map<String, Application> applicationsByEventId = new LinkedHashMap<>();
+        for (Delivery delivery : deliveries) applicationsByEventId.put(delivery.event().getEventId(), delivery.application());
+        applicationRollupService.recordApplied(applicationsByEventId);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.jobportal.analytics.service;
+
+import com.example.jobportal.analytics.dto.DailyApplicationsPoint;
+import com.example.jobportal.analytics.dto.StageTimeReport;
+import com.example.jobportal.analytics.entity.ApplicationDailyRollup;
+import com.example.jobportal.analytics.repository.ApplicationDailyRollupRepository;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds application events into {@link ApplicationDailyRollup} buckets and serves employer charts
+ * from them, so a chart reads at most one small document per job and day.
+ */
+@Service
+public class ApplicationRollupService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final ApplicationDailyRollupRepository rollupRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public ApplicationRollupService(ApplicationDailyRollupRepository rollupRepository, MongoTemplate mongoTemplate) {
+        this.rollupRepository = rollupRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Counts submissions in their day's bucket, keyed by the outbox event that reported them. Safe
+     * to repeat: each increment only applies while its event id is not among the bucket's
+     * {@code appliedEventIds} and pushes the id in the same update, after an upsert that makes
+     * sure the bucket exists.
+     */
+    public void recordApplied(Map<String, Application> applicationsByEventId) {
+        if (applicationsByEventId.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, ApplicationDailyRollup.class);
+        Map<String, Application> firstByBucket = new LinkedHashMap<>();
+        applicationsByEventId.values().forEach(application -> firstByBucket.putIfAbsent(RollupIncrements.idOf(
+                application.getCompanyId(), application.getJobId(), application.getApplicationDate()), application));
+        firstByBucket.forEach((id, application) -> bulk.upsert(Query.query(Criteria.where("id").is(id)), new Update()
+                .setOnInsert("companyId", application.getCompanyId())
+                .setOnInsert("jobId", application.getJobId())
+                .setOnInsert("day", RollupIncrements.startOf(RollupIncrements.dayOf(application.getApplicationDate())))));
+        applicationsByEventId.forEach((eventId, application) -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(RollupIncrements.idOf(application.getCompanyId(), application.getJobId(), application.getApplicationDate()))
+                        .and("appliedEventIds").ne(eventId)),
+                new Update().inc("applied", 1).push("appliedEventIds").slice(-ApplicationDailyRollup.RECENT_EVENT_IDS).each(eventId)));
+        bulk.execute();
+    }
+
+    /**
+     * Records status changes; {@code previous} holds each application as it was before the change.
+     */
+    public void recordTransitions(Collection<Application> previous, ApplicationStatus newStatus, Date changedAt) {
+        RollupIncrements increments = new RollupIncrements();
+        for (Application application : previous) {
+            if (application.getStatus() == newStatus) continue;
+            Date enteredAt = application.getStatusChangedDate() != null ? application.getStatusChangedDate() : application.getApplicationDate();
+            increments.transition(application.getCompanyId(), application.getJobId(), application.getStatus(), enteredAt,
+                    newStatus, changedAt, application.getApplicationDate());
+        }
+        increments.flush(mongoTemplate);
+    }
+
+    public List<DailyApplicationsPoint> getDailyApplications(JobPortalUserPrincipal principal, String jobId, LocalDate from, LocalDate to) {
+        LocalDate[] range = range(from, to);
+        Map<LocalDate, DailyApplicationsPoint> points = new LinkedHashMap<>();
+        for (LocalDate day = range[0]; !day.isAfter(range[1]); day = day.plusDays(1)) {
+            points.put(day, DailyApplicationsPoint.builder().day(day).entered(new EnumMap<>(ApplicationStatus.class)).build());
+        }
+
+        for (ApplicationDailyRollup rollup : findRollups(principal, jobId, range)) {
+            DailyApplicationsPoint point = points.get(RollupIncrements.dayOf(rollup.getDay()));
+            if (point == null) continue;
+            point.setApplied(point.getApplied() + rollup.getApplied());
+            point.setHired(point.getHired() + rollup.getHired());
+            if (rollup.getEntered() != null) rollup.getEntered().forEach((status, count) -> point.getEntered().merge(status, count, Long::sum));
+        }
+        return new ArrayList<>(points.values());
+    }
+
+    public StageTimeReport getStageTimes(JobPortalUserPrincipal principal, String jobId, LocalDate from, LocalDate to) {
+        LocalDate[] range = range(from, to);
+        Map<ApplicationStatus, Long> exits = new EnumMap<>(ApplicationStatus.class);
+        Map<ApplicationStatus, Long> millis = new EnumMap<>(ApplicationStatus.class);
+        long hired = 0;
+        long timeToHireMillis = 0;
+        for (ApplicationDailyRollup rollup : findRollups(principal, jobId, range)) {
+            if (rollup.getStageExits() != null) rollup.getStageExits().forEach((status, count) -> exits.merge(status, count, Long::sum));
+            if (rollup.getStageMillis() != null) rollup.getStageMillis().forEach((status, total) -> millis.merge(status, total, Long::sum));
+            hired += rollup.getHired();
+            timeToHireMillis += rollup.getTimeToHireMillis();
+        }
+
+        Map<ApplicationStatus, Long> averages = new EnumMap<>(ApplicationStatus.class);
+        exits.forEach((status, count) -> {
+            if (count > 0) averages.put(status, millis.getOrDefault(status, 0L) / count);
+        });
+        return StageTimeReport.builder()
+                .jobId(jobId)
+                .from(range[0])
+                .to(range[1])
+                .averageStageMillis(averages)
+                .stageExits(exits)
+                .hired(hired)
+                .averageTimeToHireMillis(hired > 0 ? timeToHireMillis / hired : null)
+                .build();
+    }
+
+    private List<ApplicationDailyRollup> findRollups(JobPortalUserPrincipal principal, String jobId, LocalDate[] range) {
+        String companyId = principal.getCompanyId();
+        if (companyId == null) throw new AccessDeniedException("Access denied: You must be associated with a company profile to view analytics.");
+        // Between is exclusive on both ends with the derived query, so widen by a millisecond.
+        Date from = new Date(RollupIncrements.startOf(range[0]).getTime() - 1);
+        Date to = RollupIncrements.startOf(range[1].plusDays(1));
+        return jobId == null
+                ? rollupRepository.findAllByCompanyIdAndDayBetweenOrderByDayAsc(companyId, from, to)
+                : rollupRepository.findAllByCompanyIdAndJobIdAndDayBetweenOrderByDayAsc(companyId, jobId, from, to);
+    }
+
+    private static LocalDate[] range(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) throw new IllegalArgumentException("'from' must not be after 'to'");
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        return new LocalDate[]{start, end};
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.jobportal.analytics.service;
+
+import com.example.jobportal.analytics.entity.ApplicationDailyRollup;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects increments for daily rollup buckets and writes them as one {@code $inc} upsert per
+ * bucket in a single unordered bulk write. Not thread-safe; use one per batch.
+ */
+public class RollupIncrements {
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+
+    private static final class Bucket {
+        final String companyId;
+        final String jobId;
+        final LocalDate day;
+        final Map<String, Long> increments = new HashMap<>();
+
+        Bucket(String companyId, String jobId, LocalDate day) {
+            this.companyId = companyId;
+            this.jobId = jobId;
+            this.day = day;
+        }
+
+        void add(String field, long delta) {
+            increments.merge(field, delta, Long::sum);
+        }
+    }
+
+    public static LocalDate dayOf(Date date) {
+        return date.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    public static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    /**
+     * Id of the bucket of {@code jobId} for the UTC day of {@code at}.
+     */
+    public static String idOf(String companyId, String jobId, Date at) {
+        return companyId + ":" + jobId + ":" + dayOf(at);
+    }
+
+    public void applied(String companyId, String jobId, Date at) {
+        bucket(companyId, jobId, at).add("applied", 1);
+    }
+
+    /**
+     * An application moving from {@code from}, which it entered at {@code enteredAt}, to
+     * {@code to} at {@code at}. {@code appliedAt} is used for time-to-hire.
+     */
+    public void transition(String companyId, String jobId, ApplicationStatus from, Date enteredAt, ApplicationStatus to, Date at, Date appliedAt) {
+        Bucket bucket = bucket(companyId, jobId, at);
+        bucket.add("entered." + to.name(), 1);
+        if (from != null && enteredAt != null) {
+            bucket.add("stageExits." + from.name(), 1);
+            bucket.add("stageMillis." + from.name(), Math.max(0, at.getTime() - enteredAt.getTime()));
+        }
+        if (to == ApplicationStatus.HIRED && appliedAt != null) {
+            bucket.add("hired", 1);
+            bucket.add("timeToHireMillis", Math.max(0, at.getTime() - appliedAt.getTime()));
+        }
+    }
+
+    public boolean isEmpty() {
+        return buckets.isEmpty();
+    }
+
+    public void flush(MongoTemplate mongoTemplate) {
+        if (buckets.isEmpty()) return;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ApplicationDailyRollup.class);
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            Update update = new Update()
+                    .setOnInsert("companyId", bucket.companyId)
+                    .setOnInsert("jobId", bucket.jobId)
+                    .setOnInsert("day", startOf(bucket.day));
+            bucket.increments.forEach(update::inc);
+            bulk.upsert(Query.query(Criteria.where("id").is(entry.getKey())), update);
+        }
+        bulk.execute();
+        buckets.clear();
+    }
+
+    private Bucket bucket(String companyId, String jobId, Date at) {
+        LocalDate day = dayOf(at);
+        return buckets.computeIfAbsent(idOf(companyId, jobId, at), id -> new Bucket(companyId, jobId, day));
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.jobportal.application.controller;
 
+import com.example.jobportal.application.dto.ApplicationInboxQuery;
+import com.example.jobportal.application.dto.ApplicationInboxResponse;
 import com.example.jobportal.application.dto.ApplicationStatusUpdate;
 import com.example.jobportal.application.dto.ApplicationSubmissionRequest;
+import com.example.jobportal.application.dto.BulkStatusUpdateRequest;
+import com.example.jobportal.application.dto.BulkStatusUpdateResponse;
+import com.example.jobportal.application.dto.RankedApplicant;
+import com.example.jobportal.application.dto.SubmissionTicket;
 import com.example.jobportal.application.entity.Application;
 import com.example.jobportal.application.entity.ApplicationActivity;
+import com.example.jobportal.application.entity.JobFunnel;
+import com.example.jobportal.application.service.ApplicantRankingService;
 import com.example.jobportal.application.service.ApplicationService;
+import com.example.jobportal.application.service.ApplicationSubmissionQueue;
+import com.example.jobportal.application.service.JobFunnelService;
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
 import com.example.jobportal.user.dto.ResponseMessage;
 import org.springframework.http.HttpStatus;
@@ -20,9 +30,16 @@ import java.util.List;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ApplicantRankingService applicantRankingService;
+    private final JobFunnelService jobFunnelService;
+    private final ApplicationSubmissionQueue applicationSubmissionQueue;
 
-    public ApplicationController(ApplicationService applicationService) {
+    public ApplicationController(ApplicationService applicationService, ApplicantRankingService applicantRankingService,
+                                 JobFunnelService jobFunnelService, ApplicationSubmissionQueue applicationSubmissionQueue) {
         this.applicationService = applicationService;
+        this.applicantRankingService = applicantRankingService;
+        this.jobFunnelService = jobFunnelService;
+        this.applicationSubmissionQueue = applicationSubmissionQueue;
     }
 
     @PostMapping("/submit")
@@ -40,6 +57,27 @@ public class ApplicationController {
         return new ResponseEntity<>(responseMessage, HttpStatus.CREATED);
     }
 
+    @PostMapping("/submit-async")
+    public ResponseEntity<SubmissionTicket> submitApplicationAsync(
+            @RequestBody ApplicationSubmissionRequest request,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal
+    ) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to submit an application.");
+
+        SubmissionTicket ticket = applicationSubmissionQueue.submit(request, principal);
+        return new ResponseEntity<>(ticket, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/submissions/{ticketId}")
+    public ResponseEntity<SubmissionTicket> getSubmissionStatus(
+            @PathVariable String ticketId,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view applications.");
+
+        SubmissionTicket ticket = applicationSubmissionQueue.getTicket(ticketId, principal);
+        return ResponseEntity.ok(ticket);
+    }
+
     @GetMapping("/my-applications")
     public ResponseEntity<List<Application>> getCandidateApplications(
             @AuthenticationPrincipal JobPortalUserPrincipal principal,
@@ -62,12 +100,36 @@ public class ApplicationController {
     }
 
     @GetMapping("/by-employer")
-    public ResponseEntity<List<Application>> getApplicationsForEmployer(
+    public ResponseEntity<ApplicationInboxResponse> getApplicationsForEmployer(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @ModelAttribute ApplicationInboxQuery filter,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view applications.");
+
+        ApplicationInboxResponse inbox = applicationService.getApplicationsByEmployer(principal, filter, cursor, size);
+        return ResponseEntity.ok(inbox);
+    }
+
+    @GetMapping("/ranked/{jobId}")
+    public ResponseEntity<List<RankedApplicant>> getRankedApplicants(
+            @PathVariable String jobId,
+            @RequestParam(value = "limit", defaultValue = "50", required = false) int limit,
             @AuthenticationPrincipal JobPortalUserPrincipal principal) {
         if (principal == null) throw new AccessDeniedException("Authentication required to view applications.");
 
-        List<Application> applications = applicationService.getApplicationsByEmployer(principal);
-        return ResponseEntity.ok(applications);
+        List<RankedApplicant> rankedApplicants = applicantRankingService.rankApplicants(jobId, limit, principal);
+        return ResponseEntity.ok(rankedApplicants);
+    }
+
+    @GetMapping("/funnel/{jobId}")
+    public ResponseEntity<JobFunnel> getJobFunnel(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view applications.");
+
+        JobFunnel funnel = jobFunnelService.getFunnel(jobId, principal);
+        return ResponseEntity.ok(funnel);
     }
 
     @GetMapping("/history/{applicationId}")
@@ -94,4 +156,15 @@ public class ApplicationController {
                 .build();
         return ResponseEntity.ok(responseMessage);
     }
+
+    @PutMapping("/status/bulk-update")
+    public ResponseEntity<BulkStatusUpdateResponse> bulkUpdateApplicationStatus(
+            @RequestBody BulkStatusUpdateRequest request,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal
+    ) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to update application status.");
+
+        BulkStatusUpdateResponse response = applicationService.bulkUpdateApplicationStatus(request, principal);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,55 @@
+package com.example.jobportal.application.controller;
+
+import com.example.jobportal.application.dto.JobAlertRequest;
+import com.example.jobportal.application.entity.JobAlert;
+import com.example.jobportal.application.service.JobAlertService;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.user.dto.ResponseMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/alerts")
+public class JobAlertController {
+
+    private final JobAlertService jobAlertService;
+
+    public JobAlertController(JobAlertService jobAlertService) {
+        this.jobAlertService = jobAlertService;
+    }
+
+    @PostMapping("/create")
+    public ResponseEntity<JobAlert> createAlert(
+            @RequestBody JobAlertRequest request,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to create a job alert.");
+
+        JobAlert alert = jobAlertService.createAlert(request, principal);
+        return new ResponseEntity<>(alert, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/my")
+    public ResponseEntity<List<JobAlert>> getAlerts(@AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to view job alerts.");
+
+        return ResponseEntity.ok(jobAlertService.getAlerts(principal));
+    }
+
+    @DeleteMapping("/{alertId}")
+    public ResponseEntity<ResponseMessage> deleteAlert(
+            @PathVariable String alertId,
+            @AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Authentication required to delete a job alert.");
+
+        jobAlertService.deleteAlert(alertId, principal);
+        ResponseMessage responseMessage = ResponseMessage.builder()
+                .message("Job alert deleted.")
+                .build();
+        return ResponseEntity.ok(responseMessage);
+    }
+}
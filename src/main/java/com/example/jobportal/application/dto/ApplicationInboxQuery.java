@@ -0,0 +1,19 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.util.Date;
+
+@Data
+public class ApplicationInboxQuery {
+    private String jobId;
+    private ApplicationStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Date to;
+}
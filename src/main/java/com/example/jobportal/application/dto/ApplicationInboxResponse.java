@@ -0,0 +1,16 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class ApplicationInboxResponse {
+    private List<ApplicationSummary> applications;
+    private String nextCursor;
+    private Map<ApplicationStatus, Long> statusCounts;
+}
@@ -11,4 +11,7 @@ public class ApplicationStatusUpdate {
 
     @NotNull(message = "New status is required.")
     private ApplicationStatus newStatus;
+
+    // Optional: the version the client last read; the update is rejected if it has moved on.
+    private Long expectedVersion;
 }
@@ -0,0 +1,30 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@Builder
+public class ApplicationSummary {
+    private String id;
+    private String userId;
+    private String jobId;
+    private String jobTitle;
+    private Date applicationDate;
+    private ApplicationStatus status;
+
+    public static ApplicationSummary from(Application application) {
+        return ApplicationSummary.builder()
+                .id(application.getId())
+                .userId(application.getUserId())
+                .jobId(application.getJobId())
+                .jobTitle(application.getJobTitle())
+                .applicationDate(application.getApplicationDate())
+                .status(application.getStatus())
+                .build();
+    }
+}
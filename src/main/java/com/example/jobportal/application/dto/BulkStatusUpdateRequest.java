@@ -0,0 +1,17 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class BulkStatusUpdateRequest {
+    @NotEmpty(message = "At least one application id is required.")
+    private Set<String> applicationIds;
+
+    @NotNull(message = "New status is required.")
+    private ApplicationStatus newStatus;
+}
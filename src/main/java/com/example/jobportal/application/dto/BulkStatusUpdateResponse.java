@@ -0,0 +1,15 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkStatusUpdateResponse {
+    private ApplicationStatus newStatus;
+    private int updatedCount;
+    private List<BulkStatusUpdateResult> results;
+}
@@ -0,0 +1,14 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.application.enums.BulkUpdateOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+    private String applicationId;
+    private BulkUpdateOutcome outcome;
+    private ApplicationStatus previousStatus;
+}
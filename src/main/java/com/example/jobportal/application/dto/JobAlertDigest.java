@@ -0,0 +1,17 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.job.entity.JobPosting;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.List;
+
+@Data
+@Builder
+public class JobAlertDigest {
+    private String candidateId;
+    private List<String> alertIds;
+    private List<JobPosting> jobs;
+    private Date sentDate;
+}
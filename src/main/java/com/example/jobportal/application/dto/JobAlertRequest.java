@@ -0,0 +1,15 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.AlertFrequency;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class JobAlertRequest {
+    @Size(max = 200, message = "Search keywords cannot exceed 200 characters.")
+    private String searchKeywords;
+
+    private String locationFilter;
+
+    private AlertFrequency frequency;
+}
@@ -0,0 +1,14 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.entity.Application;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RankedApplicant {
+    private Application application;
+    private int matchedSkills;
+    private int requiredSkills;
+    private double score;
+}
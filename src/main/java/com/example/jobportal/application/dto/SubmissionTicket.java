@@ -0,0 +1,26 @@
+package com.example.jobportal.application.dto;
+
+import com.example.jobportal.application.enums.SubmissionStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class SubmissionTicket {
+    // Also the id the application is stored under once accepted.
+    private String ticketId;
+    private String jobId;
+    private SubmissionStatus status;
+    private String message;
+    private Date submittedDate;
+    private Date updatedDate;
+    @JsonIgnore
+    private String userId;
+}
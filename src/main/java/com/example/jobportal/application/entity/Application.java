@@ -1,22 +1,30 @@
 package com.example.jobportal.application.entity;
 
 import com.example.jobportal.application.enums.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Document(collection = "application")
+@CompoundIndex(name = "user_job_unique_idx", def = "{'userId': 1, 'jobId': 1}", unique = true)
+@CompoundIndex(name = "job_date_idx", def = "{'jobId': 1, 'applicationDate': -1}")
+@CompoundIndex(name = "inbox_company_idx", def = "{'companyId': 1, 'applicationDate': -1, '_id': -1, 'status': 1}")
+@CompoundIndex(name = "inbox_company_job_idx", def = "{'companyId': 1, 'jobId': 1, 'applicationDate': -1, '_id': -1, 'status': 1}")
 public class Application {
     @Id
     private String id;
@@ -27,11 +35,25 @@ public class Application {
     @NotBlank
     private String companyId;
     @NotBlank
-    @Indexed(unique = true)
     private String jobId;
     private String jobTitle;
 
     private Date applicationDate;
     private ApplicationStatus status;
+    // When the application entered its current status; feeds time-in-stage analytics.
+    private Date statusChangedDate;
     private String coverLetterText;
+
+    @Version
+    private Long version;
+
+    // Side effects not yet delivered. outboxDueDate is only set while events are pending, so the
+    // sparse index holds just those applications; it also serves as the relay's claim lease.
+    @JsonIgnore
+    private List<OutboxEvent> outbox;
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private Date outboxDueDate;
+    @JsonIgnore
+    private String outboxClaim;
 }
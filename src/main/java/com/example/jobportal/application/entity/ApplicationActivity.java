@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
@@ -18,6 +19,7 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 @Document(collection = "application_activity")
+@CompoundIndex(name = "application_timestamp_idx", def = "{'applicationId': 1, 'timestamp': 1}")
 public class ApplicationActivity {
     @Id
     private String id;
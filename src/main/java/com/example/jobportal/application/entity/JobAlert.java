@@ -1,26 +1,37 @@
 package com.example.jobportal.application.entity;
 
 
+import com.example.jobportal.application.enums.AlertFrequency;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
+import java.util.Set;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Document(collection = "education")
+@Builder
+@Document(collection = "job_alerts")
 public class JobAlert {
     @Id
     private String id;
     @NotBlank
+    @Indexed
     private String candidateId;
     private String searchKeywords;
     private String locationFilter;
-    private String frequency;
+    private AlertFrequency frequency;
     private Date lastSentDate;
+    // Live postings matched since the last digest; absent when there are none
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private Set<String> pendingJobIds;
 }
@@ -0,0 +1,39 @@
+package com.example.jobportal.application.entity;
+
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materialized per-job count of applications in each status. The id is the job id.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "job_funnel")
+public class JobFunnel {
+    // How many of the latest applied events a funnel remembers for deduplicating redeliveries
+    public static final int RECENT_EVENT_IDS = 500;
+
+    @Id
+    private String jobId;
+    @Indexed
+    private String companyId;
+    private Map<ApplicationStatus, Long> counts;
+    private long total;
+    private Date updatedDate;
+    // Ids of the latest outbox events counted in APPLIED; a redelivered event is skipped
+    @JsonIgnore
+    private List<String> appliedEventIds;
+}
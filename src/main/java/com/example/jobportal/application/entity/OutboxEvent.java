@@ -0,0 +1,32 @@
+package com.example.jobportal.application.entity;
+
+import com.example.jobportal.application.enums.OutboxEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A side effect of an application write, stored inside the application document so it is
+ * persisted by the same single-document write. The id is deterministic and doubles as the
+ * idempotency key of whatever the event produces.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent {
+    public static final String APPLICANT_NAME = "applicantName";
+
+    private String eventId;
+    private OutboxEventType type;
+    private Date createdDate;
+    private Map<String, String> data;
+
+    public static OutboxEvent of(String applicationId, OutboxEventType type, Date createdDate, Map<String, String> data) {
+        return new OutboxEvent(applicationId + ":" + type.name(), type, createdDate, data);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.jobportal.application.enums;
+
+import java.time.Duration;
+
+public enum AlertFrequency {
+    INSTANT(Duration.ZERO),       // Sent on the next digest run
+    DAILY(Duration.ofDays(1)),
+    WEEKLY(Duration.ofDays(7));
+
+    private final Duration interval;
+
+    AlertFrequency(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+}
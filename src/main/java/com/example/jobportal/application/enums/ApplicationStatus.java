@@ -1,5 +1,9 @@
 package com.example.jobportal.application.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ApplicationStatus {
     APPLIED,       // Candidate has submitted the application
     UNDER_REVIEW,  // Employer has acknowledged the application
@@ -8,5 +12,37 @@ public enum ApplicationStatus {
     OFFER_EXTENDED, // Job offer has been made
     HIRED,         // Candidate accepted the offer
     REJECTED,      // Application was declined
-    WITHDRAWN      // Candidate withdrew the application
+    WITHDRAWN;     // Candidate withdrew the application
+
+    private Set<ApplicationStatus> next = Collections.emptySet();
+    private Set<ApplicationStatus> previous = Collections.emptySet();
+
+    static {
+        APPLIED.next = EnumSet.of(UNDER_REVIEW, SHORTLISTED, REJECTED, WITHDRAWN);
+        UNDER_REVIEW.next = EnumSet.of(SHORTLISTED, INTERVIEWING, REJECTED, WITHDRAWN);
+        SHORTLISTED.next = EnumSet.of(INTERVIEWING, REJECTED, WITHDRAWN);
+        INTERVIEWING.next = EnumSet.of(OFFER_EXTENDED, REJECTED, WITHDRAWN);
+        OFFER_EXTENDED.next = EnumSet.of(HIRED, REJECTED, WITHDRAWN);
+        // HIRED, REJECTED and WITHDRAWN are terminal.
+
+        for (ApplicationStatus status : values()) {
+            Set<ApplicationStatus> previous = EnumSet.noneOf(ApplicationStatus.class);
+            for (ApplicationStatus candidate : values()) {
+                if (candidate.next.contains(status)) previous.add(candidate);
+            }
+            status.previous = Collections.unmodifiableSet(previous);
+            status.next = Collections.unmodifiableSet(status.next);
+        }
+    }
+
+    public boolean canTransitionTo(ApplicationStatus target) {
+        return next.contains(target);
+    }
+
+    /**
+     * Statuses from which this status can be reached in one step.
+     */
+    public Set<ApplicationStatus> predecessors() {
+        return previous;
+    }
 }
@@ -0,0 +1,10 @@
+package com.example.jobportal.application.enums;
+
+public enum BulkUpdateOutcome {
+    UPDATED,    // Status was changed
+    UNCHANGED,  // Application was already in the requested status
+    NOT_FOUND,  // No application with this id
+    FORBIDDEN,  // Application belongs to another company
+    INVALID_TRANSITION, // Current status cannot move to the requested one
+    CONFLICT    // Status changed concurrently; the update was not applied
+}
@@ -0,0 +1,9 @@
+package com.example.jobportal.application.enums;
+
+public enum OutboxEventType {
+    CREATE_CONVERSATION, // Open the applicant/employer conversation
+    LOG_ACTIVITY,        // Record the submission in the activity history
+    UPDATE_FUNNEL,       // Count the application in the job's funnel
+    UPDATE_ANALYTICS,    // Count the application in the daily rollups
+    NOTIFY_EMPLOYER      // Push the new application to the employer
+}
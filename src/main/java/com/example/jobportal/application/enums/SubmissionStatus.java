@@ -0,0 +1,9 @@
+package com.example.jobportal.application.enums;
+
+public enum SubmissionStatus {
+    QUEUED,     // Waiting for a submission worker
+    ACCEPTED,   // Application stored
+    DUPLICATE,  // Candidate had already applied to this job
+    REJECTED,   // Job posting does not exist
+    FAILED      // Could not be stored; the candidate should retry
+}
@@ -3,16 +3,22 @@ package com.example.jobportal.application.repository;
 import com.example.jobportal.application.entity.Application;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
 
 
     List<Application> findAllByCompanyId(String companyId);
 
+    List<Application> findAllByJobId(String jobId);
+
+    @Query(value = "{ 'jobId' : ?0 }", fields = "{ 'userId' : 1 }")
+    List<Application> findUserIdsByJobId(String jobId);
+
     Application findApplicationById(String id);
 
     List<Application> getApplicationsByUserId(String userId, Pageable pageable);
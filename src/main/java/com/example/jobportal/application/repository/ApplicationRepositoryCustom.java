@@ -0,0 +1,58 @@
+package com.example.jobportal.application.repository;
+
+import com.example.jobportal.application.dto.ApplicationInboxQuery;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.util.KeysetCursor;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+public interface ApplicationRepositoryCustom {
+
+    /**
+     * A page of a company's applications ordered by (applicationDate, id) descending, without
+     * cover letters.
+     */
+    List<Application> findInboxPage(String companyId, ApplicationInboxQuery filter, KeysetCursor after, int limit);
+
+    /**
+     * Per-status counts for the same filter, ignoring its status criterion.
+     */
+    Map<ApplicationStatus, Long> countInboxByStatus(String companyId, ApplicationInboxQuery filter);
+
+    /**
+     * The id, company, job, status and status dates of each existing application in {@code ids}.
+     */
+    List<Application> findStatusSnapshots(Collection<String> ids);
+
+    /**
+     * Moves every application in {@code snapshots} to {@code newStatus} with one unordered bulk
+     * write. Each update only applies while the application still has the snapshot's status and
+     * company. Returns the number of applications changed.
+     */
+    int updateStatuses(Collection<Application> snapshots, ApplicationStatus newStatus, Date changedAt);
+
+    /**
+     * Atomically moves an application to {@code newStatus} if its current status is a legal
+     * predecessor and it matches {@code ownership} (and {@code expectedVersion}, when given).
+     * Returns the application as it was before the update, or {@code null} if nothing matched.
+     */
+    Application compareAndSetStatus(String applicationId, Criteria ownership, Long expectedVersion, ApplicationStatus newStatus, Date changedAt);
+
+    /**
+     * Claims up to {@code limit} applications whose outbox is due under the token {@code claim},
+     * leasing them until {@code leaseUntil}. Returns the claimed applications with their pending
+     * events.
+     */
+    List<Application> claimOutbox(String claim, Date now, Date leaseUntil, int limit);
+
+    /**
+     * Removes delivered events from claimed applications and clears the outbox fields of those
+     * left without pending events. Claims that have since been lost are left untouched.
+     */
+    void acknowledgeOutbox(String claim, Map<String, List<String>> deliveredEventIds);
+}
@@ -0,0 +1,143 @@
+package com.example.jobportal.application.repository;
+
+import com.example.jobportal.application.dto.ApplicationInboxQuery;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.util.KeysetCursor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ApplicationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Application> findInboxPage(String companyId, ApplicationInboxQuery filter, KeysetCursor after, int limit) {
+        Criteria criteria = inboxCriteria(companyId, filter);
+        if (filter.getStatus() != null) criteria.and("status").is(filter.getStatus());
+        if (after != null) {
+            criteria.orOperator(
+                    Criteria.where("applicationDate").lt(after.date()),
+                    Criteria.where("applicationDate").is(after.date()).and("id").lt(after.id())
+            );
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "applicationDate", "id"))
+                .limit(limit);
+        query.fields().exclude("coverLetterText", "outbox");
+        return mongoTemplate.find(query, Application.class);
+    }
+
+    @Override
+    public Map<ApplicationStatus, Long> countInboxByStatus(String companyId, ApplicationInboxQuery filter) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(inboxCriteria(companyId, filter)),
+                Aggregation.group("status").count().as("count")
+        );
+
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) counts.put(status, 0L);
+        for (Document row : mongoTemplate.aggregate(aggregation, Application.class, Document.class)) {
+            String status = row.getString("_id");
+            if (status != null) counts.put(ApplicationStatus.valueOf(status), ((Number) row.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Application> claimOutbox(String claim, Date now, Date leaseUntil, int limit) {
+        Query due = Query.query(Criteria.where("outboxDueDate").lte(now))
+                .with(Sort.by(Sort.Direction.ASC, "outboxDueDate"))
+                .limit(limit);
+        due.fields().include("id");
+        List<String> ids = mongoTemplate.find(due, Application.class).stream().map(Application::getId).toList();
+        if (ids.isEmpty()) return List.of();
+
+        // Another relay may claim some of the same ids first; the token tells us which are ours.
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(ids).and("outboxDueDate").lte(now)),
+                new Update().set("outboxDueDate", leaseUntil).set("outboxClaim", claim),
+                Application.class);
+        // Read back by _id; outboxClaim is not indexed.
+        return mongoTemplate.find(Query.query(Criteria.where("id").in(ids).and("outboxClaim").is(claim)), Application.class);
+    }
+
+    @Override
+    public void acknowledgeOutbox(String claim, Map<String, List<String>> deliveredEventIds) {
+        if (deliveredEventIds.isEmpty()) return;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        deliveredEventIds.forEach((applicationId, eventIds) -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(applicationId).and("outboxClaim").is(claim)),
+                new Update().pull("outbox", new Document("eventId", new Document("$in", eventIds)))));
+        bulk.execute();
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("id").in(deliveredEventIds.keySet()).and("outboxClaim").is(claim)
+                        .orOperator(Criteria.where("outbox").size(0), Criteria.where("outbox").exists(false))),
+                new Update().unset("outbox").unset("outboxDueDate").unset("outboxClaim"),
+                Application.class);
+    }
+
+    @Override
+    public List<Application> findStatusSnapshots(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("companyId", "jobId", "status", "version", "applicationDate", "statusChangedDate");
+        return mongoTemplate.find(query, Application.class);
+    }
+
+    @Override
+    public int updateStatuses(Collection<Application> snapshots, ApplicationStatus newStatus, Date changedAt) {
+        if (snapshots.isEmpty()) return 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        for (Application snapshot : snapshots) {
+            Query query = Query.query(Criteria.where("id").is(snapshot.getId())
+                    .and("companyId").is(snapshot.getCompanyId())
+                    .and("status").is(snapshot.getStatus()));
+            bulk.updateOne(query, Update.update("status", newStatus).set("statusChangedDate", changedAt).inc("version", 1));
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Application compareAndSetStatus(String applicationId, Criteria ownership, Long expectedVersion, ApplicationStatus newStatus, Date changedAt) {
+        Criteria criteria = Criteria.where("id").is(applicationId)
+                .and("status").in(newStatus.predecessors());
+        if (expectedVersion != null) criteria.and("version").is(expectedVersion);
+        Query query = ownership == null ? Query.query(criteria) : Query.query(new Criteria().andOperator(criteria, ownership));
+        query.fields().include("userId", "companyId", "jobId", "status", "version", "applicationDate", "statusChangedDate");
+
+        Update update = Update.update("status", newStatus).set("statusChangedDate", changedAt).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Application.class);
+    }
+
+    private static Criteria inboxCriteria(String companyId, ApplicationInboxQuery filter) {
+        Criteria criteria = Criteria.where("companyId").is(companyId);
+        if (filter.getJobId() != null) criteria.and("jobId").is(filter.getJobId());
+        if (filter.getFrom() != null && filter.getTo() != null) {
+            criteria.and("applicationDate").gte(filter.getFrom()).lt(filter.getTo());
+        } else if (filter.getFrom() != null) {
+            criteria.and("applicationDate").gte(filter.getFrom());
+        } else if (filter.getTo() != null) {
+            criteria.and("applicationDate").lt(filter.getTo());
+        }
+        return criteria;
+    }
+}
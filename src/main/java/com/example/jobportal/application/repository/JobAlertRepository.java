@@ -0,0 +1,17 @@
+package com.example.jobportal.application.repository;
+
+import com.example.jobportal.application.entity.JobAlert;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface JobAlertRepository extends MongoRepository<JobAlert, String> {
+    List<JobAlert> findAllByCandidateId(String candidateId);
+
+    @Query("{}")
+    Stream<JobAlert> streamAll();
+}
@@ -0,0 +1,9 @@
+package com.example.jobportal.application.repository;
+
+import com.example.jobportal.application.entity.JobFunnel;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobFunnelRepository extends MongoRepository<JobFunnel, String> {
+}
@@ -0,0 +1,50 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.ApplicationActivity;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.application.enums.OutboxEventType;
+import com.example.jobportal.user.enums.Role;
+import com.example.jobportal.util.MongoBulkInserts;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes the submission entry of the activity history. The activity id is the event id, so a
+ * redelivered event hits the primary key and is skipped.
+ */
+@Component
+public class ActivityOutboxHandler implements OutboxEventHandler {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ActivityOutboxHandler(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.LOG_ACTIVITY;
+    }
+
+    @Override
+    public void handle(List<Delivery> deliveries) {
+        List<ApplicationActivity> activities = deliveries.stream().map(ActivityOutboxHandler::toActivity).toList();
+        MongoBulkInserts.insertIgnoringDuplicates(mongoTemplate, ApplicationActivity.class, activities);
+    }
+
+    /**
+     * The activity an event stands for; also used to show events that are still pending.
+     */
+    public static ApplicationActivity toActivity(Delivery delivery) {
+        return ApplicationActivity.builder()
+                .id(delivery.event().getEventId())
+                .applicationId(delivery.application().getId())
+                .status(ApplicationStatus.APPLIED)
+                .statusChangedBy(Role.APPLICANT)
+                .timestamp(delivery.event().getCreatedDate())
+                .note("Application submitted successfully.")
+                .build();
+    }
+}
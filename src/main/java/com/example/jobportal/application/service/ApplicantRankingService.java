@@ -0,0 +1,90 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.dto.RankedApplicant;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.repository.ApplicationRepository;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.candidate.entity.Resume;
+import com.example.jobportal.candidate.repository.ResumeRepository;
+import com.example.jobportal.exeptionHandler.customException.JobPostNotFound;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import com.example.jobportal.job.service.SkillDictionary;
+import com.example.jobportal.job.service.TopK;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ApplicantRankingService {
+
+    private static final int MAX_RANKED = 200;
+
+    private final ApplicationRepository applicationRepository;
+    private final JobPostingRepository jobPostingRepository;
+    private final ResumeRepository resumeRepository;
+    private final SkillDictionary skillDictionary;
+
+    public ApplicantRankingService(ApplicationRepository applicationRepository, JobPostingRepository jobPostingRepository,
+                                   ResumeRepository resumeRepository, SkillDictionary skillDictionary) {
+        this.applicationRepository = applicationRepository;
+        this.jobPostingRepository = jobPostingRepository;
+        this.resumeRepository = resumeRepository;
+        this.skillDictionary = skillDictionary;
+    }
+
+    /**
+     * Applicants of a job ordered by how many of the job's required skills their resume lists.
+     */
+    public List<RankedApplicant> rankApplicants(String jobId, int limit, JobPortalUserPrincipal principal) {
+        if (limit <= 0 || limit > MAX_RANKED) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RANKED);
+
+        JobPosting jobPosting = jobPostingRepository.findJobPostingById(jobId);
+        if (jobPosting == null) throw new JobPostNotFound("There is no job post with id : " + jobId);
+        if (!jobPosting.getCompanyId().equals(principal.getCompanyId())) throw new AccessDeniedException("You are not authorized to view applicants of this job posting.");
+
+        SkillDictionary.SkillVector required = skillDictionary.encodeRequired(jobPosting.getRequiredSkill());
+        // Only userId is needed to score; full applications are loaded for the top entries alone.
+        List<Application> applications = applicationRepository.findUserIdsByJobId(jobId);
+        if (applications.isEmpty()) return List.of();
+
+        Map<String, Resume> resumesByUserId = resumeRepository.findSkillsByUserIdIn(applications.stream().map(Application::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(Resume::getUserId, Function.identity(), (a, b) -> a));
+
+        TopK top = new TopK(Math.min(limit, applications.size()));
+        int[] matched = new int[applications.size()];
+        for (int i = 0; i < applications.size(); i++) {
+            Resume resume = resumesByUserId.get(applications.get(i).getUserId());
+            matched[i] = resume == null ? 0 : skillDictionary.overlap(required, resume.getSkillList());
+            top.offer(i, matched[i]);
+        }
+
+        int[] order = new int[top.size()];
+        float[] scores = new float[top.size()];
+        int count = top.drainDescending(order, scores);
+        List<String> topIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) topIds.add(applications.get(order[i]).getId());
+        Map<String, Application> applicationsById = applicationRepository.findAllById(topIds).stream()
+                .collect(Collectors.toMap(Application::getId, Function.identity()));
+
+        List<RankedApplicant> ranked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            Application application = applicationsById.get(applications.get(index).getId());
+            if (application == null) continue;
+            ranked.add(RankedApplicant.builder()
+                    .application(application)
+                    .matchedSkills(matched[index])
+                    .requiredSkills(required.skillCount())
+                    .score(required.skillCount() == 0 ? 0 : (double) matched[index] / required.skillCount())
+                    .build());
+        }
+        return ranked;
+    }
+}
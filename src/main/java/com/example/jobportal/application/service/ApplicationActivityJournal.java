@@ -0,0 +1,209 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.ApplicationActivity;
+import com.example.jobportal.application.repository.ApplicationActivityRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal for {@link ApplicationActivity} records.
+ * <p>
+ * Callers enqueue and return; a single writer thread group-commits the queue with one
+ * {@code insertMany} per batch, flushing when a batch is full or the oldest record has waited
+ * {@code linger-ms}. When the queue is full the caller waits briefly and then writes its record
+ * itself, so a slow database slows writers down instead of losing records. Records that are
+ * queued or being written stay visible through {@link #pendingFor(String)} until the insert
+ * succeeds.
+ */
+@Slf4j
+@Component
+public class ApplicationActivityJournal {
+
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final ApplicationActivityRepository applicationActivityRepository;
+    private final BlockingQueue<ApplicationActivity> queue;
+    private final int batchSize;
+    private final long lingerMs;
+    private final long offerTimeoutMs;
+
+    // applicationId -> (activityId -> activity) for records not yet known to be stored
+    private final Map<String, Map<String, ApplicationActivity>> pending = new ConcurrentHashMap<>();
+    private final Thread writer;
+    // Queued behind the pending records on shutdown to stop the writer
+    private static final ApplicationActivity STOP = new ApplicationActivity();
+    private volatile boolean running = true;
+
+    public ApplicationActivityJournal(ApplicationActivityRepository applicationActivityRepository,
+                                      @Value("${applications.activity-journal.capacity:10000}") int capacity,
+                                      @Value("${applications.activity-journal.batch-size:256}") int batchSize,
+                                      @Value("${applications.activity-journal.linger-ms:5}") long lingerMs,
+                                      @Value("${applications.activity-journal.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.applicationActivityRepository = applicationActivityRepository;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerMs = lingerMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.writer = new Thread(this::writeLoop, "activity-journal-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /**
+     * Queues {@code activity} for storage, assigning its id if it has none.
+     */
+    public void append(ApplicationActivity activity) {
+        if (activity.getId() == null) activity.setId(new ObjectId().toHexString());
+        track(activity);
+
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(activity, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            // Queue full or shutting down: the caller pays for its own write.
+            applicationActivityRepository.insert(activity);
+            untrack(List.of(activity));
+        }
+    }
+
+    /**
+     * Activities for {@code applicationId} that may not have been stored yet.
+     */
+    public List<ApplicationActivity> pendingFor(String applicationId) {
+        Map<String, ApplicationActivity> activities = pending.get(applicationId);
+        return activities == null ? List.of() : new ArrayList<>(activities.values());
+    }
+
+    /**
+     * Merges stored history with pending records, dropping duplicates of records that were stored
+     * between the two reads. {@code pendingSnapshot} must be taken before {@code stored} is read.
+     */
+    public static List<ApplicationActivity> merge(List<ApplicationActivity> stored, List<ApplicationActivity> pendingSnapshot) {
+        if (pendingSnapshot.isEmpty()) return stored;
+        Map<String, ApplicationActivity> byId = new LinkedHashMap<>();
+        for (ApplicationActivity activity : stored) byId.put(activity.getId(), activity);
+        for (ApplicationActivity activity : pendingSnapshot) byId.putIfAbsent(activity.getId(), activity);
+        List<ApplicationActivity> merged = new ArrayList<>(byId.values());
+        merged.sort(Comparator.comparing(ApplicationActivity::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return merged;
+    }
+
+    /**
+     * Stops accepting records into the queue and lets the writer store everything queued ahead of
+     * a stop marker, without interrupting an insert in flight. Whatever is left afterwards is
+     * written here.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (!queue.offer(STOP, 10, TimeUnit.SECONDS)) log.warn("Activity journal queue stayed full; draining it on shutdown");
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<ApplicationActivity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.removeIf(activity -> activity == STOP);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+        log.info("Activity journal drained {} records on shutdown", remaining.size());
+    }
+
+    private void writeLoop() {
+        List<ApplicationActivity> batch = new ArrayList<>(batchSize);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                ApplicationActivity first = queue.take();
+                if (first == STOP) return;
+                batch.add(first);
+                long flushAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.removeIf(activity -> activity == STOP)) {
+                        stopping = true;
+                        break;
+                    }
+                    long waitNanos = flushAt - System.nanoTime();
+                    if (batch.size() >= batchSize || waitNanos <= 0) break;
+                    ApplicationActivity next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Nothing interrupts the writer on purpose; write what was collected and go on.
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ApplicationActivity> batch) {
+        if (batch.isEmpty()) return;
+        for (int attempt = 1; attempt <= MAX_INSERT_ATTEMPTS; attempt++) {
+            try {
+                // A failed insertMany may have stored part of the batch, so retries upsert by id.
+                if (attempt == 1) applicationActivityRepository.insert(batch);
+                else applicationActivityRepository.saveAll(batch);
+                untrack(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_INSERT_ATTEMPTS) {
+                    log.error("Dropping {} application activity records after {} failed inserts", batch.size(), attempt, e);
+                    untrack(batch);
+                    return;
+                }
+                log.warn("Inserting {} application activity records failed, retrying", batch.size(), e);
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void track(ApplicationActivity activity) {
+        pending.compute(activity.getApplicationId(), (id, activitiesById) -> {
+            Map<String, ApplicationActivity> tracked = activitiesById != null ? activitiesById : new ConcurrentHashMap<>();
+            tracked.put(activity.getId(), activity);
+            return tracked;
+        });
+    }
+
+    private void untrack(Collection<ApplicationActivity> activities) {
+        for (ApplicationActivity activity : activities) {
+            pending.computeIfPresent(activity.getApplicationId(), (id, activitiesById) -> {
+                activitiesById.remove(activity.getId());
+                return activitiesById.isEmpty() ? null : activitiesById;
+            });
+        }
+    }
+}
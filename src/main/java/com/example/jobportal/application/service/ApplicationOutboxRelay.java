@@ -0,0 +1,118 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.entity.OutboxEvent;
+import com.example.jobportal.application.enums.OutboxEventType;
+import com.example.jobportal.application.repository.ApplicationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the outbox events stored in application documents.
+ * <p>
+ * Each pass claims a batch of applications with due events, hands the events to their
+ * {@link OutboxEventHandler} grouped by type, and removes the delivered ones. The claim is a lease:
+ * if the node dies or a handler fails, the events fall due again when the lease runs out and are
+ * delivered again, so handlers are idempotent. Runs on a short fixed delay and is also nudged right
+ * after a submission.
+ */
+@Slf4j
+@Component
+public class ApplicationOutboxRelay {
+
+    private final ApplicationRepository applicationRepository;
+    private final Map<OutboxEventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEventType.class);
+    private final ExecutorService applicationFanOutExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    @Value("${applications.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${applications.outbox.lease-ms:30000}")
+    private long leaseMs;
+
+    public ApplicationOutboxRelay(ApplicationRepository applicationRepository, List<OutboxEventHandler> handlers,
+                                  @Qualifier("applicationFanOutExecutor") ExecutorService applicationFanOutExecutor) {
+        this.applicationRepository = applicationRepository;
+        for (OutboxEventHandler handler : handlers) this.handlers.put(handler.type(), handler);
+        this.applicationFanOutExecutor = applicationFanOutExecutor;
+    }
+
+    /**
+     * Asks for a delivery pass soon, without waiting for the next scheduled one.
+     */
+    public void signal() {
+        try {
+            applicationFanOutExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the next start picks the events up.
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${applications.outbox.poll-interval-ms:250}")
+    public void drain() {
+        if (!draining.compareAndSet(false, true)) return;
+        try {
+            while (deliverBatch() == batchSize) {
+                // Keep going while full batches come back.
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox delivery pass failed", e);
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int deliverBatch() {
+        String claim = new ObjectId().toHexString();
+        long now = System.currentTimeMillis();
+        List<Application> claimed = applicationRepository.claimOutbox(claim, new Date(now), new Date(now + leaseMs), batchSize);
+        if (claimed.isEmpty()) return 0;
+
+        Map<OutboxEventType, List<OutboxEventHandler.Delivery>> byType = new EnumMap<>(OutboxEventType.class);
+        Map<String, List<String>> delivered = new HashMap<>();
+        for (Application application : claimed) {
+            if (application.getOutbox() == null || application.getOutbox().isEmpty()) {
+                // Nothing left to deliver; acknowledging clears the stale due date.
+                delivered.put(application.getId(), new ArrayList<>());
+                continue;
+            }
+            for (OutboxEvent event : application.getOutbox()) {
+                byType.computeIfAbsent(event.getType(), type -> new ArrayList<>()).add(new OutboxEventHandler.Delivery(application, event));
+            }
+        }
+
+        byType.forEach((type, deliveries) -> {
+            OutboxEventHandler handler = handlers.get(type);
+            try {
+                if (handler != null) {
+                    handler.handle(deliveries);
+                } else {
+                    log.warn("No outbox handler for {}; discarding {} events", type, deliveries.size());
+                }
+                for (OutboxEventHandler.Delivery delivery : deliveries) {
+                    delivered.computeIfAbsent(delivery.application().getId(), id -> new ArrayList<>()).add(delivery.event().getEventId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Delivering {} {} outbox events failed; retrying after the lease", deliveries.size(), type, e);
+            }
+        });
+
+        applicationRepository.acknowledgeOutbox(claim, delivered);
+        return claimed.size();
+    }
+}
@@ -1,45 +1,78 @@
 package com.example.jobportal.application.service;
 
+import com.example.jobportal.analytics.service.ApplicationRollupService;
+import com.example.jobportal.application.dto.ApplicationInboxQuery;
+import com.example.jobportal.application.dto.ApplicationInboxResponse;
 import com.example.jobportal.application.dto.ApplicationStatusUpdate;
+import com.example.jobportal.application.dto.BulkStatusUpdateRequest;
+import com.example.jobportal.application.dto.BulkStatusUpdateResponse;
+import com.example.jobportal.application.dto.BulkStatusUpdateResult;
 import com.example.jobportal.application.dto.ApplicationSubmissionRequest;
+import com.example.jobportal.application.dto.ApplicationSummary;
 import com.example.jobportal.application.entity.Application;
 import com.example.jobportal.application.entity.ApplicationActivity;
+import com.example.jobportal.application.entity.OutboxEvent;
 import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.application.enums.BulkUpdateOutcome;
+import com.example.jobportal.application.enums.OutboxEventType;
 import com.example.jobportal.application.repository.ApplicationActivityRepository;
 import com.example.jobportal.application.repository.ApplicationRepository;
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
 import com.example.jobportal.exeptionHandler.customException.ApplicationAlreadySubmited;
 import com.example.jobportal.exeptionHandler.customException.ApplicationNotApplied;
+import com.example.jobportal.exeptionHandler.customException.ApplicationStatusConflict;
 import com.example.jobportal.exeptionHandler.customException.CandidateProfileNotCreated;
+import com.example.jobportal.exeptionHandler.customException.InvalidStatusTransition;
 import com.example.jobportal.exeptionHandler.customException.JobPostNotFound;
 import com.example.jobportal.job.entity.JobPosting;
 import com.example.jobportal.job.repository.JobPostingRepository;
-import com.example.jobportal.messaging.service.ConversationService;
 import com.example.jobportal.user.enums.Role;
+import com.example.jobportal.util.KeysetCursor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ApplicationService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_UPDATE_SIZE = 1000;
+
     private final ApplicationActivityRepository applicationActivityRepository;
     private final ApplicationRepository applicationRepository;
     private final JobPostingRepository jobPostingRepository;
-    private final ConversationService conversationService;
+    private final JobFunnelService jobFunnelService;
+    private final ApplicationActivityJournal applicationActivityJournal;
+    private final ApplicationOutboxRelay applicationOutboxRelay;
+    private final ApplicationRollupService applicationRollupService;
 
     public ApplicationService(ApplicationActivityRepository applicationActivityRepository, ApplicationRepository applicationRepository,
-                              JobPostingRepository jobPostingRepository, ConversationService conversationService) {
+                              JobPostingRepository jobPostingRepository,
+                              JobFunnelService jobFunnelService, ApplicationActivityJournal applicationActivityJournal,
+                              ApplicationOutboxRelay applicationOutboxRelay, ApplicationRollupService applicationRollupService) {
         this.applicationActivityRepository = applicationActivityRepository;
         this.applicationRepository = applicationRepository;
         this.jobPostingRepository = jobPostingRepository;
-        this.conversationService = conversationService;
+        this.jobFunnelService = jobFunnelService;
+        this.applicationActivityJournal = applicationActivityJournal;
+        this.applicationOutboxRelay = applicationOutboxRelay;
+        this.applicationRollupService = applicationRollupService;
     }
 
     public List<Application> getApplicationsByCandidate(JobPortalUserPrincipal principal, int page, int size) {
@@ -55,7 +88,11 @@ public class ApplicationService {
         return applications;
     }
 
-    @Transactional
+    /**
+     * Submits an application with a single durable write: the application document carries its
+     * side effects (conversation, activity, funnel, employer notification) as outbox events, which
+     * {@link ApplicationOutboxRelay} delivers in batches.
+     */
     public void applyToJob(ApplicationSubmissionRequest  request, JobPortalUserPrincipal principal) {
         String userId = principal.getUserId();
         String resumeId = principal.getResumeId();
@@ -65,71 +102,222 @@ public class ApplicationService {
         JobPosting jobPosting = jobPostingRepository.findJobPostingById(request.getJobId());
         if (jobPosting == null) throw new JobPostNotFound("There is no job post with id : " + request.getJobId());
 
-        Application application = applicationRepository.findApplicationByUserIdAndJobId(userId, request.getJobId());
-        if (application != null) throw new ApplicationAlreadySubmited("You have already applied to this job.");
+        Application application = newSubmission(new ObjectId().toHexString(), jobPosting, request.getCoverLetterText(),
+                userId, principal.getName(), new Date(System.currentTimeMillis()));
+
+        // The (userId, jobId) unique index is the duplicate check.
+        try {
+            applicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            throw new ApplicationAlreadySubmited("You have already applied to this job.");
+        }
+        applicationOutboxRelay.signal();
+    }
+
+    /**
+     * A new application together with the outbox events of its side effects.
+     */
+    static Application newSubmission(String applicationId, JobPosting jobPosting, String coverLetterText,
+                                     String userId, String applicantName, Date now) {
+        Map<String, String> applicant = new HashMap<>();
+        applicant.put(OutboxEvent.APPLICANT_NAME, applicantName);
+        List<OutboxEvent> outbox = List.of(
+                OutboxEvent.of(applicationId, OutboxEventType.CREATE_CONVERSATION, now, applicant),
+                OutboxEvent.of(applicationId, OutboxEventType.LOG_ACTIVITY, now, null),
+                OutboxEvent.of(applicationId, OutboxEventType.UPDATE_FUNNEL, now, null),
+                OutboxEvent.of(applicationId, OutboxEventType.UPDATE_ANALYTICS, now, null),
+                OutboxEvent.of(applicationId, OutboxEventType.NOTIFY_EMPLOYER, now, null));
 
-        application = Application.builder()
+        return Application.builder()
+                .id(applicationId)
                 .userId(userId)
                 .companyId(jobPosting.getCompanyId())
-                .jobId(request.getJobId())
+                .jobId(jobPosting.getId())
                 .jobTitle(jobPosting.getTitle())
-                .coverLetterText(request.getCoverLetterText())
-                .applicationDate(new Date(System.currentTimeMillis()))
+                .coverLetterText(coverLetterText)
+                .applicationDate(now)
                 .status(ApplicationStatus.APPLIED)
+                .statusChangedDate(now)
+                .outbox(new ArrayList<>(outbox))
+                .outboxDueDate(now)
                 .build();
-
-        Application savedApplication = applicationRepository.save(application);
-
-        conversationService.createConversation(principal, application);
-
-        logApplicationActivity(savedApplication.getId(), ApplicationStatus.APPLIED, Role.APPLICANT, "Application submitted successfully.");
     }
 
-    public List<Application> getApplicationsByEmployer(JobPortalUserPrincipal principal) {
+    public ApplicationInboxResponse getApplicationsByEmployer(JobPortalUserPrincipal principal, ApplicationInboxQuery filter, String cursor, int size) {
         String employerCompanyId = principal.getCompanyId();
         if (employerCompanyId == null)  throw new AccessDeniedException("Access denied: You must be associated with a company profile to view applications.");
-        return applicationRepository.findAllByCompanyId(employerCompanyId);
+        if (size <= 0 || size > MAX_INBOX_PAGE_SIZE) throw new IllegalArgumentException("Page size must be between 1 and " + MAX_INBOX_PAGE_SIZE);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Application> applications = applicationRepository.findInboxPage(employerCompanyId, filter, after, size + 1);
+
+        String nextCursor = null;
+        if (applications.size() > size) {
+            applications = applications.subList(0, size);
+            Application last = applications.get(size - 1);
+            nextCursor = KeysetCursor.of(last.getApplicationDate(), last.getId()).encode();
+        }
+
+        return ApplicationInboxResponse.builder()
+                .applications(applications.stream().map(ApplicationSummary::from).toList())
+                .nextCursor(nextCursor)
+                .statusCounts(applicationRepository.countInboxByStatus(employerCompanyId, filter))
+                .build();
     }
 
     public List<ApplicationActivity> getApplicationHistory(String applicationId, JobPortalUserPrincipal principal) {
         Application application = applicationRepository.getApplicationsById(applicationId);
         if (application==null) throw new ApplicationNotApplied("Application does not exist");
         if (!application.getUserId().equals(principal.getUserId())) throw new AccessDeniedException("You do not have permission to view application history.");
-        return applicationActivityRepository.findAllByApplicationIdOrderByTimestampAsc(applicationId);
+        // Snapshot the journal before reading the collection so nothing flushed in between is missed.
+        List<ApplicationActivity> pending = new ArrayList<>(applicationActivityJournal.pendingFor(applicationId));
+        if (application.getOutbox() != null) {
+            for (OutboxEvent event : application.getOutbox()) {
+                if (event.getType() == OutboxEventType.LOG_ACTIVITY) {
+                    pending.add(ActivityOutboxHandler.toActivity(new OutboxEventHandler.Delivery(application, event)));
+                }
+            }
+        }
+        List<ApplicationActivity> stored = applicationActivityRepository.findAllByApplicationIdOrderByTimestampAsc(applicationId);
+        return ApplicationActivityJournal.merge(stored, pending);
     }
 
+    /**
+     * Changes the status in one conditional update: it only applies while the application is in a
+     * legal predecessor of the new status and belongs to the caller, so concurrent changes cannot
+     * overwrite each other. Failures are diagnosed with a follow-up read.
+     */
     public void updateApplicationStatus(ApplicationStatusUpdate applicationStatusUpdate, JobPortalUserPrincipal principal) {
-        String userId = principal.getUserId();
-        String employerCompanyId = principal.getCompanyId();
+        String applicationId = applicationStatusUpdate.getApplicationId();
+        ApplicationStatus newStatus = applicationStatusUpdate.getNewStatus();
+        if (applicationId == null || newStatus == null) throw new IllegalArgumentException("Application id and new status are required.");
         Role role = principal.getRole();
 
-        Application application = applicationRepository.findApplicationById(applicationStatusUpdate.getApplicationId());
-        if (application==null) throw new ApplicationNotApplied("Application does not exist");
+        Criteria ownership;
+        if (role.equals(Role.ADMIN)) {
+            ownership = null;
+        } else if (newStatus.equals(ApplicationStatus.WITHDRAWN) && role.equals(Role.APPLICANT)) {
+            ownership = Criteria.where("userId").is(principal.getUserId());
+        } else if (!newStatus.equals(ApplicationStatus.WITHDRAWN) && role.equals(Role.EMPLOYER) && principal.getCompanyId() != null) {
+            ownership = Criteria.where("companyId").is(principal.getCompanyId());
+        } else {
+            throw new AccessDeniedException("Access denied: You do not have permission to modify the status of this application.");
+        }
+
+        Date changedAt = new Date(System.currentTimeMillis());
+        Application previous = applicationRepository.compareAndSetStatus(applicationId, ownership, applicationStatusUpdate.getExpectedVersion(), newStatus, changedAt);
+        if (previous == null) throw statusUpdateFailure(applicationStatusUpdate, principal);
+
+        ApplicationStatus oldStatus = previous.getStatus();
+        jobFunnelService.recordTransition(previous, oldStatus, newStatus);
+        applicationRollupService.recordTransitions(List.of(previous), newStatus, changedAt);
+        logApplicationActivity(applicationId, newStatus, role,
+                String.format("Status changed from %s to %s.", oldStatus, newStatus.name()));
+    }
+
+    private RuntimeException statusUpdateFailure(ApplicationStatusUpdate applicationStatusUpdate, JobPortalUserPrincipal principal) {
+        Application current = applicationRepository.findApplicationById(applicationStatusUpdate.getApplicationId());
+        if (current == null) return new ApplicationNotApplied("Application does not exist");
+
+        Role role = principal.getRole();
+        boolean owner = role.equals(Role.ADMIN)
+                || (role.equals(Role.APPLICANT) && current.getUserId().equals(principal.getUserId()))
+                || (role.equals(Role.EMPLOYER) && current.getCompanyId().equals(principal.getCompanyId()));
+        if (!owner) return new AccessDeniedException("Access denied: You do not have permission to modify the status of this application.");
 
         ApplicationStatus newStatus = applicationStatusUpdate.getNewStatus();
-        boolean permissionGranted = false;
+        Long expectedVersion = applicationStatusUpdate.getExpectedVersion();
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            return new ApplicationStatusConflict("Application was modified by someone else; reload it and try again.");
+        }
+        if (!current.getStatus().canTransitionTo(newStatus)) {
+            return new InvalidStatusTransition(String.format("Cannot change application status from %s to %s.", current.getStatus(), newStatus));
+        }
+        // Legal from the status we see now, so the status moved between the update and this read.
+        return new ApplicationStatusConflict("Application status changed concurrently; reload it and try again.");
+    }
 
-        if (role.equals(Role.ADMIN)) {
-            permissionGranted = true;
-        } else if (newStatus.equals(ApplicationStatus.WITHDRAWN)) {
-            if (role.equals(Role.APPLICANT) && application.getUserId().equals(userId)) {
-                permissionGranted = true;
+    /**
+     * Moves a batch of the employer's applications to one status: one read for ownership, one
+     * unordered bulk write for the transitions and one insert for the activity records.
+     */
+    public BulkStatusUpdateResponse bulkUpdateApplicationStatus(BulkStatusUpdateRequest request, JobPortalUserPrincipal principal) {
+        String employerCompanyId = principal.getCompanyId();
+        if (employerCompanyId == null) throw new AccessDeniedException("Access denied: You must be associated with a company profile to update applications.");
+        Set<String> applicationIds = request.getApplicationIds();
+        if (applicationIds == null || applicationIds.isEmpty() || applicationIds.size() > MAX_BULK_UPDATE_SIZE) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_BULK_UPDATE_SIZE + " application ids are required");
+        }
+        ApplicationStatus newStatus = request.getNewStatus();
+        if (newStatus == null) throw new IllegalArgumentException("New status is required.");
+        if (newStatus == ApplicationStatus.WITHDRAWN) throw new AccessDeniedException("Only the candidate can withdraw an application.");
+
+        Map<String, Application> snapshots = applicationRepository.findStatusSnapshots(applicationIds).stream()
+                .collect(Collectors.toMap(Application::getId, Function.identity()));
+
+        Map<String, BulkStatusUpdateResult> results = new LinkedHashMap<>();
+        List<Application> toUpdate = new ArrayList<>();
+        for (String applicationId : applicationIds) {
+            Application snapshot = snapshots.get(applicationId);
+            if (snapshot == null) {
+                results.put(applicationId, new BulkStatusUpdateResult(applicationId, BulkUpdateOutcome.NOT_FOUND, null));
+            } else if (!employerCompanyId.equals(snapshot.getCompanyId())) {
+                results.put(applicationId, new BulkStatusUpdateResult(applicationId, BulkUpdateOutcome.FORBIDDEN, null));
+            } else if (snapshot.getStatus() == newStatus) {
+                results.put(applicationId, new BulkStatusUpdateResult(applicationId, BulkUpdateOutcome.UNCHANGED, newStatus));
+            } else if (!snapshot.getStatus().canTransitionTo(newStatus)) {
+                results.put(applicationId, new BulkStatusUpdateResult(applicationId, BulkUpdateOutcome.INVALID_TRANSITION, snapshot.getStatus()));
+            } else {
+                results.put(applicationId, new BulkStatusUpdateResult(applicationId, BulkUpdateOutcome.UPDATED, snapshot.getStatus()));
+                toUpdate.add(snapshot);
             }
-        } else if (role.equals(Role.EMPLOYER)) {
-            if (application.getCompanyId().equals(employerCompanyId)) {
-                permissionGranted = true;
+        }
+
+        Date changedAt = new Date(System.currentTimeMillis());
+        int modified = applicationRepository.updateStatuses(toUpdate, newStatus, changedAt);
+        List<Application> updated = toUpdate;
+        if (modified < toUpdate.size()) {
+            // Some filters missed because the status moved under us; re-read to find which. Only
+            // documents carrying this write's timestamp and exactly one version bump are ours; one
+            // moved to the target status by a concurrent update was already counted by that update.
+            Map<String, Application> current = applicationRepository.findStatusSnapshots(toUpdate.stream().map(Application::getId).toList()).stream()
+                    .collect(Collectors.toMap(Application::getId, Function.identity()));
+            updated = new ArrayList<>();
+            for (Application snapshot : toUpdate) {
+                Application now = current.get(snapshot.getId());
+                if (now != null && now.getStatus() == newStatus && changedAt.equals(now.getStatusChangedDate())
+                        && Objects.equals(now.getVersion(), nextVersion(snapshot))) {
+                    updated.add(snapshot);
+                } else {
+                    results.put(snapshot.getId(), new BulkStatusUpdateResult(snapshot.getId(), BulkUpdateOutcome.CONFLICT, snapshot.getStatus()));
+                }
             }
         }
 
-        if (!permissionGranted) {
-            throw new AccessDeniedException("Access denied: You do not have permission to modify the status of this application.");
+        if (!updated.isEmpty()) {
+            jobFunnelService.recordTransitions(updated, newStatus);
+            applicationRollupService.recordTransitions(updated, newStatus, changedAt);
+            List<ApplicationActivity> activities = updated.stream()
+                    .map(snapshot -> ApplicationActivity.builder()
+                            .applicationId(snapshot.getId())
+                            .status(newStatus)
+                            .statusChangedBy(principal.getRole())
+                            .timestamp(changedAt)
+                            .note(String.format("Status changed from %s to %s.", snapshot.getStatus(), newStatus.name()))
+                            .build())
+                    .toList();
+            applicationActivityRepository.insert(activities);
         }
 
-        ApplicationStatus oldStatus = application.getStatus();
-        application.setStatus(applicationStatusUpdate.getNewStatus());
-        applicationRepository.save(application);
-        logApplicationActivity(applicationStatusUpdate.getApplicationId(), newStatus, Role.EMPLOYER,
-                String.format("Status changed from %s to %s.", oldStatus, newStatus.name()));
+        return BulkStatusUpdateResponse.builder()
+                .newStatus(newStatus)
+                .updatedCount(updated.size())
+                .results(new ArrayList<>(results.values()))
+                .build();
+    }
+
+    private static long nextVersion(Application snapshot) {
+        return snapshot.getVersion() != null ? snapshot.getVersion() + 1 : 1;
     }
 
     private void logApplicationActivity(String applicationId, ApplicationStatus status, Role changedBy, String note) {
@@ -140,7 +328,7 @@ public class ApplicationService {
                 .timestamp(new Date(System.currentTimeMillis()))
                 .note(note)
                 .build();
-        applicationActivityRepository.save(activity);
+        applicationActivityJournal.append(activity);
     }
 
     public Application getApplicationById(String applicationId) {
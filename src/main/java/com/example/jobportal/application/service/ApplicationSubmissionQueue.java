@@ -0,0 +1,238 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.dto.ApplicationSubmissionRequest;
+import com.example.jobportal.application.dto.SubmissionTicket;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.SubmissionStatus;
+import com.example.jobportal.application.repository.ApplicationRepository;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.exeptionHandler.customException.ApplicationNotApplied;
+import com.example.jobportal.exeptionHandler.customException.CandidateProfileNotCreated;
+import com.example.jobportal.exeptionHandler.customException.SubmissionQueueFull;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import com.example.jobportal.util.MongoBulkInserts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Accept-and-queue submission path for traffic spikes.
+ * <p>
+ * A submission is validated from the principal alone, given a ticket and put on one of several
+ * bounded partitions (by candidate, so one candidate's submissions stay in order). Each partition
+ * has a worker that takes whatever has queued up, resolves the jobs with one read and inserts the
+ * applications with one unordered bulk write; per-item duplicate errors become ticket results.
+ * When a partition is full the submission is refused with {@link SubmissionQueueFull} (429).
+ * <p>
+ * Tickets live in memory for {@code ticket-ttl-ms} after they settle. The ticket id is the
+ * application id, so a ticket that is no longer in memory (or was issued by another node) is
+ * still answered from the stored application.
+ */
+@Slf4j
+@Service
+public class ApplicationSubmissionQueue {
+
+    private final ApplicationRepository applicationRepository;
+    private final JobPostingRepository jobPostingRepository;
+    private final ApplicationOutboxRelay applicationOutboxRelay;
+    private final MongoTemplate mongoTemplate;
+
+    private final List<BlockingQueue<PendingSubmission>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Map<String, SubmissionTicket> tickets = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long ticketTtlMs;
+    private volatile boolean running = true;
+
+    private record PendingSubmission(SubmissionTicket ticket, String coverLetterText, String applicantName) {
+    }
+
+    // Queued behind the real submissions on shutdown to stop a partition's worker
+    private static final PendingSubmission STOP = new PendingSubmission(null, null, null);
+
+    public ApplicationSubmissionQueue(ApplicationRepository applicationRepository, JobPostingRepository jobPostingRepository,
+                                      ApplicationOutboxRelay applicationOutboxRelay, MongoTemplate mongoTemplate,
+                                      @Value("${applications.submit-queue.partitions:4}") int partitionCount,
+                                      @Value("${applications.submit-queue.capacity:2000}") int capacity,
+                                      @Value("${applications.submit-queue.batch-size:200}") int batchSize,
+                                      @Value("${applications.submit-queue.ticket-ttl-ms:120000}") long ticketTtlMs) {
+        this.applicationRepository = applicationRepository;
+        this.jobPostingRepository = jobPostingRepository;
+        this.applicationOutboxRelay = applicationOutboxRelay;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.ticketTtlMs = ticketTtlMs;
+
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<PendingSubmission> partition = new ArrayBlockingQueue<>(capacity);
+            partitions.add(partition);
+            Thread worker = new Thread(() -> workLoop(partition), "application-submit-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public SubmissionTicket submit(ApplicationSubmissionRequest request, JobPortalUserPrincipal principal) {
+        if (principal.getResumeId() == null) throw new CandidateProfileNotCreated("Candidate profile not created");
+        if (request.getJobId() == null || request.getJobId().isBlank()) throw new IllegalArgumentException("Job id is required.");
+
+        Date now = new Date(System.currentTimeMillis());
+        SubmissionTicket ticket = SubmissionTicket.builder()
+                .ticketId(new ObjectId().toHexString())
+                .jobId(request.getJobId())
+                .userId(principal.getUserId())
+                .status(SubmissionStatus.QUEUED)
+                .submittedDate(now)
+                .updatedDate(now)
+                .build();
+
+        BlockingQueue<PendingSubmission> partition = partitions.get(Math.floorMod(principal.getUserId().hashCode(), partitions.size()));
+        tickets.put(ticket.getTicketId(), ticket);
+        if (!running || !partition.offer(new PendingSubmission(ticket, request.getCoverLetterText(), principal.getName()))) {
+            tickets.remove(ticket.getTicketId());
+            throw new SubmissionQueueFull("Too many applications are being submitted right now. Please retry shortly.");
+        }
+        return ticket;
+    }
+
+    public SubmissionTicket getTicket(String ticketId, JobPortalUserPrincipal principal) {
+        SubmissionTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            Application application = applicationRepository.findApplicationById(ticketId);
+            if (application == null) throw new ApplicationNotApplied("No submission with ticket " + ticketId);
+            ticket = SubmissionTicket.builder()
+                    .ticketId(ticketId)
+                    .jobId(application.getJobId())
+                    .userId(application.getUserId())
+                    .status(SubmissionStatus.ACCEPTED)
+                    .submittedDate(application.getApplicationDate())
+                    .updatedDate(application.getApplicationDate())
+                    .build();
+        }
+        if (!ticket.getUserId().equals(principal.getUserId())) throw new AccessDeniedException("You do not have permission to view this submission.");
+        return ticket;
+    }
+
+    @Scheduled(fixedDelayString = "${applications.submit-queue.ticket-sweep-ms:60000}")
+    public void expireTickets() {
+        long cutoff = System.currentTimeMillis() - ticketTtlMs;
+        tickets.values().removeIf(ticket -> ticket.getStatus() != SubmissionStatus.QUEUED && ticket.getUpdatedDate().getTime() < cutoff);
+    }
+
+    /**
+     * Stops accepting submissions and lets each worker finish what is queued ahead of a stop
+     * marker, without interrupting a batch that is being written. Whatever is left afterwards is
+     * processed here.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (BlockingQueue<PendingSubmission> partition : partitions) {
+            if (!partition.offer(STOP, 10, TimeUnit.SECONDS)) log.warn("Submission partition stayed full; draining it on shutdown");
+        }
+        for (Thread worker : workers) worker.join(TimeUnit.SECONDS.toMillis(10));
+
+        int remaining = 0;
+        for (BlockingQueue<PendingSubmission> partition : partitions) {
+            List<PendingSubmission> batch = new ArrayList<>();
+            while (partition.drainTo(batch, batchSize) > 0) {
+                batch.removeIf(pending -> pending == STOP);
+                remaining += batch.size();
+                if (!batch.isEmpty()) process(batch);
+                batch.clear();
+            }
+        }
+        log.info("Submission queue processed {} queued submissions on shutdown", remaining);
+    }
+
+    private void workLoop(BlockingQueue<PendingSubmission> partition) {
+        List<PendingSubmission> batch = new ArrayList<>(batchSize);
+        while (true) {
+            PendingSubmission first;
+            try {
+                first = partition.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == STOP) return;
+            batch.add(first);
+            // Everything that queued up behind the first submission goes into the same insert.
+            partition.drainTo(batch, batchSize - 1);
+            boolean stopping = batch.removeIf(pending -> pending == STOP);
+            process(batch);
+            batch.clear();
+            if (stopping) return;
+        }
+    }
+
+    private void process(List<PendingSubmission> batch) {
+        try {
+            Set<String> jobIds = batch.stream().map(pending -> pending.ticket().getJobId()).collect(Collectors.toSet());
+            Map<String, JobPosting> jobs = jobPostingRepository.findAllById(jobIds).stream()
+                    .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
+
+            List<PendingSubmission> accepted = new ArrayList<>();
+            List<Application> applications = new ArrayList<>();
+            for (PendingSubmission pending : batch) {
+                JobPosting jobPosting = jobs.get(pending.ticket().getJobId());
+                if (jobPosting == null) {
+                    settle(pending.ticket(), SubmissionStatus.REJECTED, "There is no job post with id : " + pending.ticket().getJobId());
+                    continue;
+                }
+                accepted.add(pending);
+                applications.add(ApplicationService.newSubmission(pending.ticket().getTicketId(), jobPosting, pending.coverLetterText(),
+                        pending.ticket().getUserId(), pending.applicantName(), pending.ticket().getSubmittedDate()));
+            }
+
+            // The (userId, jobId) unique index is the duplicate check, also within the batch.
+            Set<Integer> duplicates = new HashSet<>(MongoBulkInserts.insertReportingDuplicates(mongoTemplate, Application.class, applications));
+            for (int i = 0; i < accepted.size(); i++) {
+                if (duplicates.contains(i)) {
+                    settle(accepted.get(i).ticket(), SubmissionStatus.DUPLICATE, "You have already applied to this job.");
+                } else {
+                    settle(accepted.get(i).ticket(), SubmissionStatus.ACCEPTED, "Application submitted successfully.");
+                }
+            }
+            if (duplicates.size() < applications.size()) applicationOutboxRelay.signal();
+        } catch (RuntimeException e) {
+            log.error("Failed to store a batch of {} application submissions", batch.size(), e);
+            for (PendingSubmission pending : batch) {
+                SubmissionTicket current = tickets.get(pending.ticket().getTicketId());
+                if (current != null && current.getStatus() == SubmissionStatus.QUEUED) {
+                    settle(pending.ticket(), SubmissionStatus.FAILED, "Application could not be submitted. Please try again.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes the outcome as a new ticket object; tickets are never mutated once visible.
+     */
+    private void settle(SubmissionTicket ticket, SubmissionStatus status, String message) {
+        tickets.put(ticket.getTicketId(), ticket.toBuilder()
+                .status(status)
+                .message(message)
+                .updatedDate(new Date(System.currentTimeMillis()))
+                .build());
+    }
+}
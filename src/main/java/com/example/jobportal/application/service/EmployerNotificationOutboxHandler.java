@@ -0,0 +1,35 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.dto.ApplicationSummary;
+import com.example.jobportal.application.enums.OutboxEventType;
+import com.example.jobportal.messaging.service.ChatBroker;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pushes new applications to the employer's topic. A redelivery repeats the push; clients
+ * de-duplicate on the application id.
+ */
+@Component
+public class EmployerNotificationOutboxHandler implements OutboxEventHandler {
+
+    private final ChatBroker chatBroker;
+
+    public EmployerNotificationOutboxHandler(ChatBroker chatBroker) {
+        this.chatBroker = chatBroker;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.NOTIFY_EMPLOYER;
+    }
+
+    @Override
+    public void handle(List<Delivery> deliveries) {
+        for (Delivery delivery : deliveries) {
+            chatBroker.publish("/topic/applications/" + delivery.application().getCompanyId(),
+                    ApplicationSummary.from(delivery.application()));
+        }
+    }
+}
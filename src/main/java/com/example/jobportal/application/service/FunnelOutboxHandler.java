@@ -0,0 +1,35 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.enums.OutboxEventType;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts submitted applications in the job funnels in one bulk write. The increments are guarded
+ * by event id, so an event redelivered after its increment landed is not counted again.
+ */
+@Component
+public class FunnelOutboxHandler implements OutboxEventHandler {
+
+    private final JobFunnelService jobFunnelService;
+
+    public FunnelOutboxHandler(JobFunnelService jobFunnelService) {
+        this.jobFunnelService = jobFunnelService;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.UPDATE_FUNNEL;
+    }
+
+    @Override
+    public void handle(List<Delivery> deliveries) {
+        Map<String, Application> applicationsByEventId = new LinkedHashMap<>();
+        for (Delivery delivery : deliveries) applicationsByEventId.put(delivery.event().getEventId(), delivery.application());
+        jobFunnelService.recordApplied(applicationsByEventId);
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.JobAlert;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.service.JobSearchIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Reverse index over saved job alerts (a percolator): instead of testing a posting against every
+ * alert, the posting's own terms are used to look up the few alerts that could match it.
+ * <p>
+ * Each alert is filed under exactly one anchor: its rarest keyword at the time it is added, or its
+ * location when it has no keywords, or the match-all list when it has neither. A posting only
+ * visits the alerts anchored on one of its terms or locations and verifies the remaining keywords
+ * against its term set, so matching cost follows the number of candidate alerts, not the total.
+ */
+@Component
+public class JobAlertIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Slots> byKeyword = new HashMap<>();
+    private final Map<String, Slots> byLocation = new HashMap<>();
+    private final Slots matchAll = new Slots();
+    private final Map<String, Integer> slotByAlertId = new HashMap<>();
+    private final Slots freeSlots = new Slots();
+
+    private String[] alertIds = new String[1024];
+    private String[] candidateIds = new String[1024];
+    private String[][] keywords = new String[1024][];
+    private String[] locations = new String[1024];
+    private int nextSlot;
+
+    public record Match(String alertId, String candidateId) {
+    }
+
+    public void put(JobAlert alert) {
+        List<String> alertKeywords = JobSearchIndex.tokenize(alert.getSearchKeywords());
+        String location = normalizeLocation(alert.getLocationFilter());
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(alert.getId());
+            int slot = allocateSlot();
+            alertIds[slot] = alert.getId();
+            candidateIds[slot] = alert.getCandidateId();
+            keywords[slot] = alertKeywords.toArray(String[]::new);
+            locations[slot] = location;
+            anchorOf(slot, true).add(slot);
+            slotByAlertId.put(alert.getId(), slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String alertId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(alertId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            byKeyword.clear();
+            byLocation.clear();
+            matchAll.size = 0;
+            freeSlots.size = 0;
+            slotByAlertId.clear();
+            Arrays.fill(alertIds, null);
+            nextSlot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Match> match(JobPosting jobPosting) {
+        Set<String> terms = JobSearchIndex.documentTerms(jobPosting);
+        String city = normalizeLocation(jobPosting.getCity());
+        String locationType = jobPosting.getLocationType() != null ? normalizeLocation(jobPosting.getLocationType().name()) : null;
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                Slots anchored = byKeyword.get(term);
+                if (anchored == null) continue;
+                for (int i = 0; i < anchored.size; i++) {
+                    int slot = anchored.items[i];
+                    if (containsAll(terms, keywords[slot]) && locationMatches(locations[slot], city, locationType)) {
+                        matches.add(new Match(alertIds[slot], candidateIds[slot]));
+                    }
+                }
+            }
+            collect(byLocation.get(city), matches);
+            if (locationType != null && !locationType.equals(city)) collect(byLocation.get(locationType), matches);
+            collect(matchAll, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    public Set<String> alertIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(slotByAlertId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByAlertId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Slots slots, List<Match> matches) {
+        if (slots == null) return;
+        for (int i = 0; i < slots.size; i++) {
+            int slot = slots.items[i];
+            matches.add(new Match(alertIds[slot], candidateIds[slot]));
+        }
+    }
+
+    private void removeLocked(String alertId) {
+        Integer slot = slotByAlertId.remove(alertId);
+        if (slot == null) return;
+        Slots anchor = anchorOf(slot, false);
+        if (anchor != null) anchor.remove(slot);
+        alertIds[slot] = null;
+        candidateIds[slot] = null;
+        keywords[slot] = null;
+        locations[slot] = null;
+        freeSlots.add(slot);
+    }
+
+    /**
+     * Returns the list the alert in {@code slot} is (or will be) filed under. Keyword alerts are
+     * anchored on their currently rarest keyword; the choice is stable because it is looked up
+     * by membership on removal.
+     */
+    private Slots anchorOf(int slot, boolean create) {
+        String[] alertKeywords = keywords[slot];
+        if (alertKeywords.length > 0) {
+            if (!create) {
+                for (String keyword : alertKeywords) {
+                    Slots slots = byKeyword.get(keyword);
+                    if (slots != null && slots.contains(slot)) return slots;
+                }
+                return null;
+            }
+            String rarest = alertKeywords[0];
+            int rarestSize = Integer.MAX_VALUE;
+            for (String keyword : alertKeywords) {
+                Slots slots = byKeyword.get(keyword);
+                int size = slots == null ? 0 : slots.size;
+                if (size < rarestSize) {
+                    rarest = keyword;
+                    rarestSize = size;
+                }
+            }
+            return byKeyword.computeIfAbsent(rarest, k -> new Slots());
+        }
+        if (locations[slot] != null) {
+            return create ? byLocation.computeIfAbsent(locations[slot], l -> new Slots()) : byLocation.get(locations[slot]);
+        }
+        return matchAll;
+    }
+
+    private int allocateSlot() {
+        if (freeSlots.size > 0) return freeSlots.items[--freeSlots.size];
+        if (nextSlot == alertIds.length) {
+            int capacity = alertIds.length << 1;
+            alertIds = Arrays.copyOf(alertIds, capacity);
+            candidateIds = Arrays.copyOf(candidateIds, capacity);
+            keywords = Arrays.copyOf(keywords, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+        }
+        return nextSlot++;
+    }
+
+    private static boolean containsAll(Set<String> terms, String[] required) {
+        for (String keyword : required) {
+            if (!terms.contains(keyword)) return false;
+        }
+        return true;
+    }
+
+    private static boolean locationMatches(String filter, String city, String locationType) {
+        return filter == null || filter.equals(city) || filter.equals(locationType);
+    }
+
+    private static String normalizeLocation(String location) {
+        if (location == null || location.isBlank()) return null;
+        return location.trim().toLowerCase(Locale.ROOT).replace('_', ' ').replace('-', ' ');
+    }
+
+    /**
+     * Unordered growable int list; removal swaps the last element in.
+     */
+    private static final class Slots {
+        int[] items = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == items.length) items = Arrays.copyOf(items, size << 1);
+            items[size++] = slot;
+        }
+
+        boolean contains(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == slot) return true;
+            }
+            return false;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == slot) {
+                    items[i] = items[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
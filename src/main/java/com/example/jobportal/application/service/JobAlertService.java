@@ -0,0 +1,208 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.dto.JobAlertDigest;
+import com.example.jobportal.application.dto.JobAlertRequest;
+import com.example.jobportal.application.entity.JobAlert;
+import com.example.jobportal.application.enums.AlertFrequency;
+import com.example.jobportal.application.repository.JobAlertRepository;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import com.example.jobportal.messaging.service.ChatBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Matches newly live job postings against saved alerts and sends the matches to candidates as
+ * digests, at most once per alert {@link AlertFrequency}.
+ * <p>
+ * Matches are recorded on the alert document ({@code pendingJobIds}) until the alert is due, so they
+ * survive restarts and any node can send the digest. Every node keeps its own reverse index of the
+ * alerts and refreshes it from Mongo, so alerts created or deleted elsewhere are picked up.
+ */
+@Slf4j
+@Service
+public class JobAlertService {
+
+    private static final int MAX_ALERTS_PER_CANDIDATE = 20;
+
+    private final JobAlertRepository jobAlertRepository;
+    private final JobPostingRepository jobPostingRepository;
+    private final JobAlertIndex jobAlertIndex;
+    private final ChatBroker chatBroker;
+    private final MongoTemplate mongoTemplate;
+
+    public JobAlertService(JobAlertRepository jobAlertRepository, JobPostingRepository jobPostingRepository,
+                           JobAlertIndex jobAlertIndex, ChatBroker chatBroker, MongoTemplate mongoTemplate) {
+        this.jobAlertRepository = jobAlertRepository;
+        this.jobPostingRepository = jobPostingRepository;
+        this.jobAlertIndex = jobAlertIndex;
+        this.chatBroker = chatBroker;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public JobAlert createAlert(JobAlertRequest request, JobPortalUserPrincipal principal) {
+        String candidateId = principal.getUserId();
+        if (jobAlertRepository.findAllByCandidateId(candidateId).size() >= MAX_ALERTS_PER_CANDIDATE) {
+            throw new IllegalArgumentException("A candidate can have at most " + MAX_ALERTS_PER_CANDIDATE + " job alerts");
+        }
+
+        JobAlert alert = JobAlert.builder()
+                .candidateId(candidateId)
+                .searchKeywords(request.getSearchKeywords())
+                .locationFilter(request.getLocationFilter())
+                .frequency(request.getFrequency() != null ? request.getFrequency() : AlertFrequency.DAILY)
+                .lastSentDate(new Date(System.currentTimeMillis()))
+                .build();
+        JobAlert savedAlert = jobAlertRepository.save(alert);
+        jobAlertIndex.put(savedAlert);
+        return savedAlert;
+    }
+
+    public List<JobAlert> getAlerts(JobPortalUserPrincipal principal) {
+        return jobAlertRepository.findAllByCandidateId(principal.getUserId());
+    }
+
+    public void deleteAlert(String alertId, JobPortalUserPrincipal principal) {
+        JobAlert alert = jobAlertRepository.findById(alertId)
+                .orElseThrow(() -> new IllegalArgumentException("Job alert with id " + alertId + " does not exist"));
+        if (!alert.getCandidateId().equals(principal.getUserId())) throw new AccessDeniedException("You do not have permission to delete this job alert.");
+
+        jobAlertRepository.delete(alert);
+        jobAlertIndex.remove(alertId);
+    }
+
+    /**
+     * Percolates a posting that has just become active and approved.
+     */
+    public void onJobPostingLive(JobPosting jobPosting) {
+        if (!jobPosting.isActive() || !jobPosting.isApproved()) return;
+        List<String> alertIds = jobAlertIndex.match(jobPosting).stream()
+                .map(JobAlertIndex.Match::alertId)
+                .toList();
+        if (alertIds.isEmpty()) return;
+        mongoTemplate.updateMulti(Query.query(Criteria.where("id").in(alertIds)),
+                new Update().addToSet("pendingJobIds", jobPosting.getId()), JobAlert.class);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAlerts() {
+        jobAlertIndex.clear();
+        try (Stream<JobAlert> alerts = jobAlertRepository.streamAll()) {
+            alerts.forEach(jobAlertIndex::put);
+        }
+        log.info("Loaded {} job alerts into the alert index", jobAlertIndex.size());
+    }
+
+    /**
+     * Brings the alert index in line with {@code job_alerts}, picking up alerts created or deleted
+     * on other nodes. The index stays in use while it is refreshed.
+     */
+    @Scheduled(initialDelayString = "${jobs.alerts.refresh-interval-ms:300000}",
+            fixedDelayString = "${jobs.alerts.refresh-interval-ms:300000}")
+    public void refreshIndex() {
+        Set<String> stale = jobAlertIndex.alertIds();
+        try (Stream<JobAlert> alerts = jobAlertRepository.streamAll()) {
+            alerts.forEach(alert -> {
+                jobAlertIndex.put(alert);
+                stale.remove(alert.getId());
+            });
+        }
+        stale.forEach(jobAlertIndex::remove);
+        log.debug("Refreshed the alert index: {} alerts, {} removed", jobAlertIndex.size(), stale.size());
+    }
+
+    /**
+     * Sends one digest per candidate covering every alert that is due. Each alert is claimed by a
+     * conditional update on its {@code lastSentDate}, which also removes the job ids being sent, so
+     * two nodes cannot send the same matches and matches added meanwhile wait for the next digest.
+     */
+    @Scheduled(fixedDelayString = "${jobs.alerts.digest-interval-ms:60000}")
+    public void flushDigests() {
+        long now = System.currentTimeMillis();
+        List<JobAlert> due = mongoTemplate.find(Query.query(Criteria.where("pendingJobIds").exists(true)), JobAlert.class).stream()
+                .filter(alert -> alert.getPendingJobIds() != null && !alert.getPendingJobIds().isEmpty())
+                .filter(alert -> lastSent(alert) + frequency(alert).getInterval().toMillis() <= now)
+                .toList();
+        if (due.isEmpty()) return;
+
+        Date sentDate = new Date(now);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobAlert.class);
+        for (JobAlert alert : due) {
+            bulk.updateOne(Query.query(Criteria.where("id").is(alert.getId()).and("lastSentDate").is(alert.getLastSentDate())),
+                    new Update().set("lastSentDate", sentDate).pullAll("pendingJobIds", alert.getPendingJobIds().toArray()));
+        }
+        if (bulk.execute().getModifiedCount() < due.size()) {
+            // Another node claimed some of them first.
+            Set<String> claimed = new HashSet<>();
+            Query sent = Query.query(Criteria.where("id").in(due.stream().map(JobAlert::getId).toList()).and("lastSentDate").is(sentDate));
+            sent.fields().include("id");
+            mongoTemplate.find(sent, JobAlert.class).forEach(alert -> claimed.add(alert.getId()));
+            due = due.stream().filter(alert -> claimed.contains(alert.getId())).toList();
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("pendingJobIds").size(0)),
+                new Update().unset("pendingJobIds"), JobAlert.class);
+        if (due.isEmpty()) return;
+
+        Map<String, List<String>> dueAlertsByCandidate = new HashMap<>();
+        Map<String, Set<String>> jobIdsByCandidate = new HashMap<>();
+        for (JobAlert alert : due) {
+            dueAlertsByCandidate.computeIfAbsent(alert.getCandidateId(), c -> new ArrayList<>()).add(alert.getId());
+            jobIdsByCandidate.computeIfAbsent(alert.getCandidateId(), c -> new LinkedHashSet<>()).addAll(alert.getPendingJobIds());
+        }
+
+        Set<String> allJobIds = jobIdsByCandidate.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet());
+        Map<String, JobPosting> jobsById = jobPostingRepository.findAllById(allJobIds).stream()
+                .filter(job -> job.isActive() && job.isApproved())
+                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
+
+        dueAlertsByCandidate.forEach((candidateId, alertIds) -> {
+            List<JobPosting> jobs = jobIdsByCandidate.get(candidateId).stream()
+                    .map(jobsById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (jobs.isEmpty()) return;
+
+            JobAlertDigest digest = JobAlertDigest.builder()
+                    .candidateId(candidateId)
+                    .alertIds(alertIds)
+                    .jobs(jobs)
+                    .sentDate(sentDate)
+                    .build();
+            chatBroker.publish("/topic/alerts/" + candidateId, digest);
+        });
+        log.debug("Sent job alert digests to {} candidates", dueAlertsByCandidate.size());
+    }
+
+    private static long lastSent(JobAlert alert) {
+        return alert.getLastSentDate() != null ? alert.getLastSentDate().getTime() : 0L;
+    }
+
+    private static AlertFrequency frequency(JobAlert alert) {
+        return alert.getFrequency() != null ? alert.getFrequency() : AlertFrequency.DAILY;
+    }
+}
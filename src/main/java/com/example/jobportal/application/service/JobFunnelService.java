@@ -0,0 +1,202 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.entity.JobFunnel;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import com.example.jobportal.application.repository.JobFunnelRepository;
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.exeptionHandler.customException.JobPostNotFound;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@code job_funnel} read model in step with application writes using atomic
+ * {@code $inc} upserts, so a funnel read is a single document fetch.
+ */
+@Slf4j
+@Service
+public class JobFunnelService {
+
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    private final JobFunnelRepository jobFunnelRepository;
+    private final JobPostingRepository jobPostingRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public JobFunnelService(JobFunnelRepository jobFunnelRepository, JobPostingRepository jobPostingRepository, MongoTemplate mongoTemplate) {
+        this.jobFunnelRepository = jobFunnelRepository;
+        this.jobPostingRepository = jobPostingRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Counts newly submitted applications, keyed by the outbox event that reported them. Safe to
+     * repeat: each increment only applies while its event id is not among the funnel's
+     * {@code appliedEventIds}, and pushes the id in the same update. Sent as one ordered bulk write
+     * that first makes sure every funnel exists.
+     */
+    public void recordApplied(Map<String, Application> applicationsByEventId) {
+        if (applicationsByEventId.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, JobFunnel.class);
+        Map<String, String> companyByJob = new HashMap<>();
+        applicationsByEventId.values().forEach(application -> companyByJob.put(application.getJobId(), application.getCompanyId()));
+        companyByJob.forEach((jobId, companyId) -> bulk.upsert(byJobId(jobId), new Update().setOnInsert("companyId", companyId)));
+        applicationsByEventId.forEach((eventId, application) -> bulk.updateOne(
+                Query.query(Criteria.where("jobId").is(application.getJobId()).and("appliedEventIds").ne(eventId)),
+                new Update()
+                        .inc("counts." + ApplicationStatus.APPLIED.name(), 1)
+                        .inc("total", 1)
+                        .currentDate("updatedDate")
+                        .push("appliedEventIds").slice(-JobFunnel.RECENT_EVENT_IDS).each(eventId)));
+        bulk.execute();
+    }
+
+    public void recordTransition(Application application, ApplicationStatus oldStatus, ApplicationStatus newStatus) {
+        if (oldStatus == newStatus) return;
+        Update update = new Update()
+                .inc("counts." + newStatus.name(), 1)
+                .setOnInsert("companyId", application.getCompanyId())
+                .currentDate("updatedDate");
+        if (oldStatus != null) update.inc("counts." + oldStatus.name(), -1);
+        mongoTemplate.upsert(byJobId(application.getJobId()), update, JobFunnel.class);
+    }
+
+    /**
+     * Applies the transitions of a bulk status change: one {@code $inc} upsert per affected job,
+     * sent as a single unordered bulk write.
+     */
+    public void recordTransitions(Collection<Application> previous, ApplicationStatus newStatus) {
+        Map<String, Map<ApplicationStatus, Long>> deltasByJob = new HashMap<>();
+        Map<String, String> companyByJob = new HashMap<>();
+        for (Application application : previous) {
+            if (application.getStatus() == newStatus) continue;
+            Map<ApplicationStatus, Long> deltas = deltasByJob.computeIfAbsent(application.getJobId(), jobId -> new EnumMap<>(ApplicationStatus.class));
+            deltas.merge(newStatus, 1L, Long::sum);
+            if (application.getStatus() != null) deltas.merge(application.getStatus(), -1L, Long::sum);
+            companyByJob.put(application.getJobId(), application.getCompanyId());
+        }
+        if (deltasByJob.isEmpty()) return;
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobFunnel.class);
+        deltasByJob.forEach((jobId, deltas) -> {
+            Update update = new Update()
+                    .setOnInsert("companyId", companyByJob.get(jobId))
+                    .currentDate("updatedDate");
+            deltas.forEach((status, delta) -> {
+                if (delta != 0) update.inc("counts." + status.name(), delta);
+            });
+            bulk.upsert(byJobId(jobId), update);
+        });
+        bulk.execute();
+    }
+
+    public JobFunnel getFunnel(String jobId, JobPortalUserPrincipal principal) {
+        JobFunnel funnel = jobFunnelRepository.findById(jobId).orElse(null);
+        if (funnel == null) {
+            // No applications yet: fall back to the posting for the ownership check.
+            JobPosting jobPosting = jobPostingRepository.findJobPostingById(jobId);
+            if (jobPosting == null) throw new JobPostNotFound("There is no job post with id : " + jobId);
+            funnel = JobFunnel.builder()
+                    .jobId(jobId)
+                    .companyId(jobPosting.getCompanyId())
+                    .counts(new EnumMap<>(ApplicationStatus.class))
+                    .build();
+        }
+        if (!funnel.getCompanyId().equals(principal.getCompanyId())) throw new AccessDeniedException("You are not authorized to view the funnel of this job posting.");
+
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) counts.put(status, 0L);
+        if (funnel.getCounts() != null) counts.putAll(funnel.getCounts());
+        funnel.setCounts(counts);
+        return funnel;
+    }
+
+    /**
+     * Recomputes every funnel from the {@code application} collection. Streams the grouped
+     * counts ordered by job and replaces funnel documents in unordered bulk batches.
+     */
+    @Scheduled(cron = "${jobs.funnel.repair-cron:0 30 3 * * *}")
+    public void repairFunnels() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.group("jobId", "status").count().as("count").first("companyId").as("companyId"),
+                Aggregation.sort(Sort.by("_id.jobId"))
+        ).withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+        Date now = new Date();
+        int repaired = 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobFunnel.class);
+        int pending = 0;
+        JobFunnel current = null;
+
+        try (Stream<Document> rows = mongoTemplate.aggregateStream(aggregation, Application.class, Document.class)) {
+            for (Document row : (Iterable<Document>) rows::iterator) {
+                Document key = row.get("_id", Document.class);
+                String jobId = key.getString("jobId");
+                if (current == null || !current.getJobId().equals(jobId)) {
+                    if (current != null) {
+                        bulk.upsert(byJobId(current.getJobId()), repaired(current));
+                        repaired++;
+                        if (++pending == REPAIR_BATCH_SIZE) {
+                            bulk.execute();
+                            bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, JobFunnel.class);
+                            pending = 0;
+                        }
+                    }
+                    current = JobFunnel.builder()
+                            .jobId(jobId)
+                            .companyId(row.getString("companyId"))
+                            .counts(new EnumMap<>(ApplicationStatus.class))
+                            .updatedDate(now)
+                            .build();
+                }
+                String status = key.getString("status");
+                long count = ((Number) row.get("count")).longValue();
+                if (status != null) current.getCounts().put(ApplicationStatus.valueOf(status), count);
+                current.setTotal(current.getTotal() + count);
+            }
+        }
+        if (current != null) {
+            bulk.upsert(byJobId(current.getJobId()), repaired(current));
+            repaired++;
+            pending++;
+        }
+        if (pending > 0) bulk.execute();
+        log.info("Rebuilt {} job funnels from applications", repaired);
+    }
+
+    /**
+     * Overwrites the counts of a funnel but keeps its {@code appliedEventIds}, so events
+     * redelivered after the repair are still recognised.
+     */
+    private static Update repaired(JobFunnel funnel) {
+        return new Update()
+                .set("companyId", funnel.getCompanyId())
+                .set("counts", funnel.getCounts())
+                .set("total", funnel.getTotal())
+                .set("updatedDate", funnel.getUpdatedDate());
+    }
+
+    private static Query byJobId(String jobId) {
+        return Query.query(Criteria.where("jobId").is(jobId));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.jobportal.application.service;
+
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.entity.OutboxEvent;
+import com.example.jobportal.application.enums.OutboxEventType;
+
+import java.util.List;
+
+/**
+ * Consumer of one {@link OutboxEventType}. Delivery is at least once, so {@link #handle} must be
+ * safe to repeat for the same event; it receives a whole batch and should write it in bulk.
+ * Throwing leaves the batch pending for a later retry.
+ */
+public interface OutboxEventHandler {
+
+    record Delivery(Application application, OutboxEvent event) {
+    }
+
+    OutboxEventType type();
+
+    void handle(List<Delivery> deliveries);
+}
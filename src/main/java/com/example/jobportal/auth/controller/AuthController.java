@@ -1,13 +1,20 @@
 package com.example.jobportal.auth.controller;
 
+import com.example.jobportal.auth.dto.request.ChangePasswordRequest;
 import com.example.jobportal.auth.dto.request.LoginRequest;
 import com.example.jobportal.auth.dto.response.LoginResponse;
+import com.example.jobportal.auth.dto.request.RefreshTokenRequest;
 import com.example.jobportal.auth.dto.request.RegisterRequest;
 import com.example.jobportal.auth.dto.response.RegisterResponse;
+import com.example.jobportal.auth.dto.response.HashingMetrics;
 import com.example.jobportal.auth.service.AuthService;
+import com.example.jobportal.auth.service.BoundedPasswordEncoder;
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.auth.service.LoginThrottle;
+import com.example.jobportal.auth.service.RefreshTokenService;
 import com.example.jobportal.user.repository.UserRepository;
-import com.example.jobportal.util.Jwtutil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,9 +31,13 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     @Autowired
-    private Jwtutil jwtutil;
-    @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    @Autowired
+    private LoginThrottle loginThrottle;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     @PostMapping("/register")
     public ResponseEntity<RegisterResponse> register(@RequestBody RegisterRequest registerRequest) {
@@ -38,11 +49,12 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
-        String token = authService.login(loginRequest);
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        RefreshTokenService.TokenPair tokens = authService.login(loginRequest, request.getRemoteAddr());
         LoginResponse loginResponse = LoginResponse.builder()
                 .message("User logged in successfully")
-                .token(token).build();
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken()).build();
         return new ResponseEntity<>(loginResponse, HttpStatus.OK);
     }
 
@@ -54,13 +66,46 @@ public class AuthController {
         return new ResponseEntity<>(claims, HttpStatus.OK);
     }
 
-    @GetMapping("/refresh-token")
-    public ResponseEntity<LoginResponse> refreshToken(@AuthenticationPrincipal JobPortalUserPrincipal principal) {
+    @PostMapping("/change-password")
+    public ResponseEntity<LoginResponse> changePassword(@RequestBody ChangePasswordRequest changePasswordRequest,
+                                                        @AuthenticationPrincipal JobPortalUserPrincipal principal) {
+        if (principal == null) throw new AccessDeniedException("Invalid token");
+
+        RefreshTokenService.TokenPair tokens = authService.changePassword(principal, changePasswordRequest);
+        LoginResponse loginResponse = LoginResponse.builder()
+                .message("Password changed successfully")
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken()).build();
+        return new ResponseEntity<>(loginResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/deactivate")
+    public ResponseEntity<Map<String, String>> deactivate(@AuthenticationPrincipal JobPortalUserPrincipal principal) {
         if (principal == null) throw new AccessDeniedException("Invalid token");
 
-        String refreshedToken = jwtutil.generateToken(principal.getUsername());
+        authService.deactivate(principal);
+        return new ResponseEntity<>(Map.of("message", "Account has been deactivated"), HttpStatus.OK);
+    }
+
+    @GetMapping("/hashing-metrics")
+    public ResponseEntity<HashingMetrics> getHashingMetrics() {
+        HashingMetrics metrics = passwordEncoder.metrics();
+        metrics.setThrottledLogins(loginThrottle.throttledCount());
+        return new ResponseEntity<>(metrics, HttpStatus.OK);
+    }
+
+    @PostMapping("/refresh-token")
+    public ResponseEntity<LoginResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        RefreshTokenService.TokenPair tokens = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
         LoginResponse loginResponse = LoginResponse.builder()
-                .token(refreshedToken).build();
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken()).build();
         return new ResponseEntity<>(loginResponse, HttpStatus.OK);
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        refreshTokenService.logout(refreshTokenRequest.getRefreshToken());
+        return new ResponseEntity<>(Map.of("message", "Logged out successfully"), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.jobportal.auth.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ChangePasswordRequest {
+    @NotBlank
+    private String currentPassword;
+    @NotBlank
+    private String newPassword;
+}
@@ -0,0 +1,19 @@
+package com.example.jobportal.auth.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HashingMetrics {
+    private int activeHashes;
+    private int queuedHashes;
+    private long completedHashes;
+    private long rejectedHashes;
+    private long timedOutHashes;
+    private double averageQueueWaitMs;
+    private double maxQueueWaitMs;
+    private double averageHashMs;
+    private double maxHashMs;
+    private long throttledLogins;
+}
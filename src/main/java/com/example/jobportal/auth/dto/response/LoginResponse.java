@@ -7,5 +7,6 @@ import lombok.Data;
 @Builder
 public class LoginResponse {
     private String token;
+    private String refreshToken;
     private String message;
 }
@@ -0,0 +1,38 @@
+package com.example.jobportal.auth.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * One refresh token of a login session. Only the token's SHA-256 is stored. Every refresh uses
+ * the token up and issues a successor in the same family; presenting a used token again revokes
+ * the whole family.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed
+    private String familyId;
+    private String userId;
+    private String email;
+    // Access-token claims as of login, so refreshes mint tokens without reading the user again
+    private Map<String, Object> claims;
+    private Date issuedDate;
+    private Date usedDate;
+    private boolean revoked;
+    @Indexed(expireAfter = "0s")
+    private Date expiresDate;
+}
@@ -0,0 +1,7 @@
+package com.example.jobportal.auth.repository;
+
+import com.example.jobportal.auth.entity.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RefreshTokenRepository extends MongoRepository<RefreshToken, String> {
+}
@@ -1,14 +1,18 @@
 package com.example.jobportal.auth.service;
 
+import com.example.jobportal.auth.dto.request.ChangePasswordRequest;
 import com.example.jobportal.auth.dto.request.LoginRequest;
 import com.example.jobportal.auth.dto.request.RegisterRequest;
 import com.example.jobportal.exeptionHandler.customException.InvalidCredentials;
+import com.example.jobportal.exeptionHandler.customException.PasswordHashingBusy;
 import com.example.jobportal.exeptionHandler.customException.UserAlreadyExist;
+import com.example.jobportal.exeptionHandler.customException.UserNotFound;
 import com.example.jobportal.user.entity.User;
 import com.example.jobportal.user.enums.Role;
 import com.example.jobportal.user.repository.UserRepository;
 import com.example.jobportal.util.Jwtutil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -35,6 +39,15 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     public void register(RegisterRequest registerRequest) {
         User userDb = userRepository.findUserByEmail(registerRequest.getEmail());
         if(userDb!=null) throw new UserAlreadyExist("User with this email already exist");
@@ -48,7 +61,9 @@ public class AuthService {
         userRepository.save(user);
     }
 
-    public String login(LoginRequest loginRequest) {
+    public RefreshTokenService.TokenPair login(LoginRequest loginRequest, String clientIp) {
+        // Throttled before any hashing, so rejected attempts cost no BCrypt work.
+        loginThrottle.acquire(clientIp, loginRequest.getEmail());
         try{
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -56,9 +71,40 @@ public class AuthService {
                             loginRequest.getPassword())
             );
         }catch (Exception e){
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof PasswordHashingBusy busy) throw busy;
+            }
             throw new InvalidCredentials("Invalid email or password");
         }
-        return jwtutil.generateToken(loginRequest.getEmail());
+        // The claims come from the aggregation the authentication above already ran.
+        return refreshTokenService.open(loginRequest.getEmail(), jwtutil.generateClaims(loginRequest.getEmail()));
+    }
+
+    /**
+     * Changes the password and revokes every token issued so far, refresh tokens included. Returns
+     * a new session so the caller stays signed in.
+     */
+    public RefreshTokenService.TokenPair changePassword(JobPortalUserPrincipal principal, ChangePasswordRequest changePasswordRequest) {
+        User user = userRepository.findUserById(principal.getUserId());
+        if (user == null) throw new UserNotFound("User not found");
+        if (!passwordEncoder.matches(changePasswordRequest.getCurrentPassword(), user.getPassword())) {
+            throw new InvalidCredentials("Current password is incorrect");
+        }
+
+        User updated = tokenRevocationService.revokeTokens(user.getId(), new Update().set("password", passwordEncoder.encode(changePasswordRequest.getNewPassword())));
+        if (updated == null) throw new UserNotFound("User not found");
+        Map<String, Object> claims = jwtutil.generateClaims(user.getEmail());
+        // The new session must carry the version the revocation just moved to.
+        claims.put("tokenVersion", updated.getTokenVersion());
+        return refreshTokenService.open(user.getEmail(), claims);
+    }
+
+    /**
+     * Deactivates the account; its tokens stop working and it can no longer log in.
+     */
+    public void deactivate(JobPortalUserPrincipal principal) {
+        User user = tokenRevocationService.revokeTokens(principal.getUserId(), new Update().set("deactivated", true));
+        if (user == null) throw new UserNotFound("User not found");
     }
 
     public Map<String, String> getDetailsOfUser(JobPortalUserPrincipal principal) {
@@ -0,0 +1,120 @@
+package com.example.jobportal.auth.service;
+
+import com.example.jobportal.auth.dto.response.HashingMetrics;
+import com.example.jobportal.exeptionHandler.customException.PasswordHashingBusy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a delegate encoder on the bounded {@code passwordHashingExecutor}. When the executor's
+ * queue is full, or a hash has not finished within {@code maxWaitMs}, the caller gets
+ * {@link PasswordHashingBusy} (429) at once instead of holding its request thread. Records how
+ * long hashes queue and run.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxHashNanos = new LongAccumulator(Math::max, 0);
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolExecutor executor, long maxWaitMs) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashing executor state and timings since startup; {@code throttledLogins} is filled in by
+     * the caller.
+     */
+    public HashingMetrics metrics() {
+        long done = completed.sum();
+        return HashingMetrics.builder()
+                .activeHashes(executor.getActiveCount())
+                .queuedHashes(executor.getQueue().size())
+                .completedHashes(done)
+                .rejectedHashes(rejected.sum())
+                .timedOutHashes(timedOut.sum())
+                .averageQueueWaitMs(done > 0 ? toMillis(queueWaitNanos.sum()) / done : 0)
+                .maxQueueWaitMs(toMillis(maxQueueWaitNanos.get()))
+                .averageHashMs(done > 0 ? toMillis(hashNanos.sum()) / done : 0)
+                .maxHashMs(toMillis(maxHashNanos.get()))
+                .build();
+    }
+
+    private <T> T run(Callable<T> hash) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueWaitNanos, maxQueueWaitNanos, startedAt - enqueuedAt);
+                try {
+                    return hash.call();
+                } finally {
+                    record(hashNanos, maxHashNanos, System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusy("The server is busy. Please try again shortly.");
+        }
+
+        try {
+            return result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            timedOut.increment();
+            throw new PasswordHashingBusy("The server is busy. Please try again shortly.");
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusy("Password check was interrupted.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static void record(LongAdder total, LongAccumulator max, long nanos) {
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jobportal.auth.service;
+
+import com.example.jobportal.exeptionHandler.customException.TooManyLoginAttempts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket limits on login attempts, one bucket per client IP and one per account, checked
+ * before any password hashing. Buckets that have refilled completely are forgotten on a sweep.
+ * If more keys are tracked than {@code max-tracked}, new keys go unthrottled until the next sweep
+ * rather than the map growing without bound; the hashing executor's own limit still applies.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double capacity, double refillPerMinute, long now) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        /**
+         * Takes a token; returns 0 on success, otherwise the nanos until one is available.
+         */
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / refillPerNano);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+        }
+    }
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> accountBuckets = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    @Value("${auth.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${auth.login-throttle.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute;
+
+    @Value("${auth.login-throttle.account.capacity:5}")
+    private int accountCapacity;
+
+    @Value("${auth.login-throttle.account.refill-per-minute:5}")
+    private double accountRefillPerMinute;
+
+    @Value("${auth.login-throttle.max-tracked:100000}")
+    private int maxTracked;
+
+    /**
+     * Spends one attempt from the client's and the account's buckets, or throws
+     * {@link TooManyLoginAttempts} with the time until the next attempt is allowed.
+     */
+    public void acquire(String clientIp, String email) {
+        long now = System.nanoTime();
+        long waitNanos = take(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, now);
+        if (waitNanos == 0 && email != null) {
+            waitNanos = take(accountBuckets, email.toLowerCase(Locale.ROOT), accountCapacity, accountRefillPerMinute, now);
+        }
+        if (waitNanos > 0) {
+            throttled.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new TooManyLoginAttempts("Too many login attempts. Please try again later.", retryAfterSeconds);
+        }
+    }
+
+    public long throttledCount() {
+        return throttled.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-throttle.sweep-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        accountBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private long take(Map<String, TokenBucket> buckets, String key, double capacity, double refillPerMinute, long now) {
+        if (key == null) return 0;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxTracked) {
+                log.debug("Login throttle is tracking {} keys; letting new ones through until the next sweep", buckets.size());
+                return 0;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerMinute, now));
+        }
+        return bucket.tryTake(now);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.jobportal.auth.service;
+
+import com.example.jobportal.candidate.entity.Resume;
+import com.example.jobportal.company.entity.Company;
+import com.example.jobportal.user.entity.Profile;
+import com.example.jobportal.user.entity.User;
+import com.example.jobportal.user.enums.Role;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Resolves a user together with the ids of their profile, resume and company in one aggregation
+ * ({@code $lookup} on each collection's unique {@code userId} index), instead of four reads.
+ * <p>
+ * The result is remembered for the rest of the HTTP request, so login, which loads the user for
+ * password checking and then again for the token claims, still makes a single round trip.
+ */
+@Service
+public class PrincipalAssemblyService {
+
+    private static final String REQUEST_ATTRIBUTE = PrincipalAssemblyService.class.getName() + ".";
+
+    /**
+     * A user and the ids linked to it; the linked ids are {@code null} when not created yet.
+     */
+    public record UserAccount(String userId, String email, String password, Role role, long tokenVersion, boolean deactivated,
+                              String profileId, String firstName, String lastName, String resumeId, String companyId) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    public PrincipalAssemblyService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Optional<UserAccount> findByEmail(String email) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String key = REQUEST_ATTRIBUTE + email;
+        if (request != null && request.getAttribute(key, RequestAttributes.SCOPE_REQUEST) instanceof UserAccount account) {
+            return Optional.of(account);
+        }
+
+        Optional<UserAccount> account = load(email);
+        if (request != null) account.ifPresent(found -> request.setAttribute(key, found, RequestAttributes.SCOPE_REQUEST));
+        return account;
+    }
+
+    private Optional<UserAccount> load(String email) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("email").is(email)),
+                Aggregation.limit(1),
+                // userId is stored as a string in the linked collections
+                Aggregation.addFields().addField("userIdString").withValue(ConvertOperators.valueOf("_id").convertToString()).build(),
+                // Each lookup is an equality match on a unique userId index: Profile "user_id",
+                // Resume and Company via @Indexed(unique = true). Dropping one makes every login scan.
+                Aggregation.lookup(mongoTemplate.getCollectionName(Profile.class), "userIdString", "userId", "profile"),
+                Aggregation.lookup(mongoTemplate.getCollectionName(Resume.class), "userIdString", "userId", "resume"),
+                Aggregation.lookup(mongoTemplate.getCollectionName(Company.class), "userIdString", "userId", "company"),
+                Aggregation.project("email", "password", "role", "tokenVersion", "deactivated")
+                        .and(ArrayOperators.arrayOf("profile._id").elementAt(0)).as("profileId")
+                        .and(ArrayOperators.arrayOf("profile.firstName").elementAt(0)).as("firstName")
+                        .and(ArrayOperators.arrayOf("profile.lastName").elementAt(0)).as("lastName")
+                        .and(ArrayOperators.arrayOf("resume._id").elementAt(0)).as("resumeId")
+                        .and(ArrayOperators.arrayOf("company._id").elementAt(0)).as("companyId")
+        );
+
+        Document row = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(User.class), Document.class).getUniqueMappedResult();
+        if (row == null) return Optional.empty();
+
+        String role = row.getString("role");
+        Number tokenVersion = row.get("tokenVersion", Number.class);
+        return Optional.of(new UserAccount(
+                idOf(row.get("_id")),
+                row.getString("email"),
+                row.getString("password"),
+                role != null ? Role.valueOf(role) : null,
+                tokenVersion != null ? tokenVersion.longValue() : 0L,
+                Boolean.TRUE.equals(row.getBoolean("deactivated")),
+                idOf(row.get("profileId")),
+                row.getString("firstName"),
+                row.getString("lastName"),
+                idOf(row.get("resumeId")),
+                idOf(row.get("companyId"))));
+    }
+
+    private static String idOf(Object id) {
+        if (id == null) return null;
+        return id instanceof ObjectId objectId ? objectId.toHexString() : id.toString();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.jobportal.auth.service;
+
+import com.example.jobportal.auth.entity.RefreshToken;
+import com.example.jobportal.auth.repository.RefreshTokenRepository;
+import com.example.jobportal.exeptionHandler.customException.InvalidRefreshToken;
+import com.example.jobportal.user.enums.Role;
+import com.example.jobportal.util.Jwtutil;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Login sessions as short-lived access tokens plus opaque, rotating refresh tokens.
+ * <p>
+ * A refresh token can be used once: {@link #rotate(String)} marks it used with a conditional
+ * update (so two nodes cannot both spend it) and hands out an access token and the next refresh
+ * token of the same family. A token that comes back after it was used means it was copied, so the
+ * whole family is revoked. Each token keeps the claims from login; the access token is signed from
+ * them, and profile, resume and company are only read again while those claims are incomplete.
+ * <p>
+ * Tokens are written through to {@code refresh_tokens} and kept in a bounded in-memory map, so the
+ * refresh on the node that issued a token needs no read before its update. Only SHA-256 digests
+ * are stored.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Jwtutil jwtutil;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom random = new SecureRandom();
+
+    // digest -> unused refresh token issued by this node, dropping the oldest beyond cache-size
+    private final Map<String, RefreshToken> tokens;
+    private final int cacheSize;
+    private final long refreshExpiration;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, MongoTemplate mongoTemplate, Jwtutil jwtutil,
+                               TokenRevocationService tokenRevocationService,
+                               @Value("${auth.refresh-tokens.cache-size:50000}") int cacheSize,
+                               @Value("${application.security.jwt.refresh-expiration-ms:1209600000}") long refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.jwtutil = jwtutil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.cacheSize = cacheSize;
+        this.refreshExpiration = refreshExpiration;
+        this.tokens = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RefreshToken> eldest) {
+                // The dropped token still works; it is looked up in Mongo when it is used.
+                return size() > RefreshTokenService.this.cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Starts a new session (a new token family) from claims assembled by
+     * {@link Jwtutil#generateClaims(String)}.
+     */
+    public TokenPair open(String email, Map<String, Object> claims) {
+        if (claims.isEmpty() || !claims.containsKey("userId")) {
+            throw new IllegalArgumentException("Cannot generate token: User not found or essential claims are missing for: " + email);
+        }
+        return new TokenPair(jwtutil.generateToken(claims, email), issue(email, claims, new ObjectId().toHexString()));
+    }
+
+    /**
+     * Spends {@code refreshToken} and returns a new access token and its successor.
+     */
+    public TokenPair rotate(String refreshToken) {
+        String digest = Jwtutil.digest(refreshToken);
+        Date now = new Date(System.currentTimeMillis());
+        Query unused = Query.query(Criteria.where("id").is(digest)
+                .and("usedDate").exists(false)
+                .and("revoked").is(false)
+                .and("expiresDate").gt(now));
+        Update use = new Update().set("usedDate", now);
+
+        RefreshToken token = tokens.remove(digest);
+        if (token != null) {
+            if (mongoTemplate.updateFirst(unused, use, RefreshToken.class).getModifiedCount() == 0) token = null;
+        } else {
+            token = mongoTemplate.findAndModify(unused, use, FindAndModifyOptions.options().returnNew(false), RefreshToken.class);
+        }
+        if (token == null) {
+            RefreshToken spent = refreshTokenRepository.findById(digest).orElse(null);
+            if (spent != null && (spent.getUsedDate() != null || spent.isRevoked())) {
+                log.warn("Refresh token reuse for user {}; revoking session {}", spent.getUserId(), spent.getFamilyId());
+                revokeFamily(spent.getFamilyId());
+            }
+            throw new InvalidRefreshToken("Refresh token is invalid or expired");
+        }
+
+        Map<String, Object> claims = token.getClaims();
+        Object tokenVersion = claims.get("tokenVersion");
+        if (!(tokenVersion instanceof Number version) || !tokenRevocationService.isCurrent(token.getUserId(), version.longValue())) {
+            revokeFamily(token.getFamilyId());
+            throw new InvalidRefreshToken("Session has been revoked, please log in again");
+        }
+        if (incomplete(claims)) {
+            // Profile, resume or company may have been created since login.
+            claims = jwtutil.generateClaims(token.getEmail());
+            if (claims.isEmpty()) {
+                revokeFamily(token.getFamilyId());
+                throw new InvalidRefreshToken("Session has been revoked, please log in again");
+            }
+        }
+        return new TokenPair(jwtutil.generateToken(claims, token.getEmail()), issue(token.getEmail(), claims, token.getFamilyId()));
+    }
+
+    /**
+     * Ends the session {@code refreshToken} belongs to. Unknown tokens are ignored.
+     */
+    public void logout(String refreshToken) {
+        String digest = Jwtutil.digest(refreshToken);
+        RefreshToken token = tokens.get(digest);
+        if (token == null) token = refreshTokenRepository.findById(digest).orElse(null);
+        if (token != null) revokeFamily(token.getFamilyId());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.sweep-ms:60000}")
+    public void expireTokens() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(token -> token.getExpiresDate().getTime() <= now);
+    }
+
+    private String issue(String email, Map<String, Object> claims, String familyId) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        random.nextBytes(raw);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        long now = System.currentTimeMillis();
+        RefreshToken token = RefreshToken.builder()
+                .id(Jwtutil.digest(refreshToken))
+                .familyId(familyId)
+                .userId((String) claims.get("userId"))
+                .email(email)
+                .claims(new HashMap<>(claims))
+                .issuedDate(new Date(now))
+                .expiresDate(new Date(now + refreshExpiration))
+                .build();
+        refreshTokenRepository.insert(token);
+        tokens.put(token.getId(), token);
+        return refreshToken;
+    }
+
+    private void revokeFamily(String familyId) {
+        mongoTemplate.updateMulti(Query.query(Criteria.where("familyId").is(familyId)),
+                new Update().set("revoked", true), RefreshToken.class);
+        tokens.values().removeIf(token -> familyId.equals(token.getFamilyId()));
+    }
+
+    private static boolean incomplete(Map<String, Object> claims) {
+        if (claims.get("profileId") == null) return true;
+        Object role = claims.get("role");
+        if (Role.APPLICANT.name().equals(role)) return claims.get("resumeId") == null;
+        if (Role.EMPLOYER.name().equals(role)) return claims.get("companyId") == null;
+        return false;
+    }
+}
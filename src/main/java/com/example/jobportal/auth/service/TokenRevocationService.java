@@ -0,0 +1,108 @@
+package com.example.jobportal.auth.service;
+
+import com.example.jobportal.user.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a token is still honoured, without touching the database per request.
+ * <p>
+ * Every token carries the user's {@code tokenVersion} from when it was issued. Changing the
+ * password or deactivating the account bumps the version (and stamps
+ * {@code tokenVersionChangedDate}), which revokes all earlier tokens. This service keeps the
+ * current version of every user whose version ever changed in memory: the node making the change
+ * updates it at once, and other nodes pick it up by polling the changed-date index every
+ * {@code poll-ms}. Users that were never revoked are not in the map and are at version 0. A token
+ * newer than the version known here was issued after a change this node has not polled yet, so it
+ * is accepted and its version remembered.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Re-read a little before the last change seen, in case node clocks disagree.
+    private static final long CLOCK_SKEW_MS = 5000;
+
+    private record AccountState(long tokenVersion, boolean deactivated) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, AccountState> accounts = new ConcurrentHashMap<>();
+    private volatile long lastChangeSeen;
+
+    public TokenRevocationService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Whether a token issued to {@code userId} under {@code tokenVersion} is still valid.
+     */
+    public boolean isCurrent(String userId, long tokenVersion) {
+        AccountState state = accounts.get(userId);
+        long known = state != null ? state.tokenVersion() : 0;
+        if (tokenVersion < known) return false;
+        if (tokenVersion == known) return state == null || !state.deactivated();
+
+        // Issued after a change this node has not polled yet; the token proves the newer version.
+        AccountState merged = merge(userId, new AccountState(tokenVersion, false));
+        return merged.tokenVersion() == tokenVersion && !merged.deactivated();
+    }
+
+    /**
+     * Applies {@code changes} to the user together with a version bump, revoking every token
+     * issued so far. Returns the updated user, or {@code null} if there is no such user.
+     */
+    public User revokeTokens(String userId, Update changes) {
+        Date now = new Date(System.currentTimeMillis());
+        User user = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(userId)),
+                changes.inc("tokenVersion", 1).set("tokenVersionChangedDate", now),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+        if (user != null) remember(user);
+        return user;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        refresh();
+        log.info("Token revocation cache holds {} accounts", accounts.size());
+    }
+
+    @Scheduled(fixedDelayString = "${application.security.revocation.poll-ms:2000}", initialDelayString = "${application.security.revocation.poll-ms:2000}")
+    public void refresh() {
+        Query changed = Query.query(Criteria.where("tokenVersionChangedDate").gte(new Date(Math.max(0, lastChangeSeen - CLOCK_SKEW_MS))));
+        changed.fields().include("id", "tokenVersion", "deactivated", "tokenVersionChangedDate");
+
+        List<User> users = mongoTemplate.find(changed, User.class);
+        for (User user : users) remember(user);
+    }
+
+    private void remember(User user) {
+        merge(user.getId(), new AccountState(user.getTokenVersion(), user.isDeactivated()));
+        if (user.getTokenVersionChangedDate() != null) {
+            long changedAt = user.getTokenVersionChangedDate().getTime();
+            if (changedAt > lastChangeSeen) lastChangeSeen = changedAt;
+        }
+    }
+
+    private AccountState merge(String userId, AccountState read) {
+        // Versions only go up, so a stale read never undoes a newer revocation.
+        return accounts.merge(userId, read,
+                (known, seen) -> seen.tokenVersion() >= known.tokenVersion() ? seen : known);
+    }
+}
@@ -2,8 +2,11 @@ package com.example.jobportal.candidate.repository;
 
 import com.example.jobportal.candidate.entity.Resume;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -21,4 +24,7 @@ public interface ResumeRepository extends MongoRepository<Resume, String> {
     Resume findResumeByUserId(String userId);
 
     Resume getResumeById(String id);
+
+    @Query(value = "{ 'userId' : { '$in' : ?0 } }", fields = "{ 'userId' : 1, 'skillList' : 1 }")
+    List<Resume> findSkillsByUserIdIn(Collection<String> userIds);
 }
@@ -0,0 +1,84 @@
+package com.example.jobportal.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor for the blocking Mongo calls that request handlers fan out and for their
+     * post-commit side effects. Uses a virtual thread per task when the runtime has them (Java 21+),
+     * otherwise a bounded pool that runs tasks on the caller once it is saturated.
+     */
+    @Bean(name = "applicationFanOutExecutor", destroyMethod = "shutdown")
+    public ExecutorService applicationFanOutExecutor(@Value("${applications.fan-out.pool-size:32}") int poolSize,
+                                                     @Value("${applications.fan-out.queue-capacity:1000}") int queueCapacity) {
+        if (Runtime.version().feature() >= 21) {
+            try {
+                ExecutorService virtual = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                log.info("Application fan-out executor uses virtual threads");
+                return virtual;
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads unavailable, falling back to a thread pool", e);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "app-fan-out-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs password hashing (BCrypt) off the request threads. Bounded in threads and queue, and
+     * refuses work once both are full, so a login or registration burst cannot occupy every
+     * request thread.
+     */
+    @Bean(name = "passwordHashingExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(@Value("${auth.hashing.pool-size:0}") int poolSize,
+                                                      @Value("${auth.hashing.queue-capacity:32}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs the {@code @Scheduled} jobs. Boot's default scheduler has a single thread, which would
+     * let a long index rebuild or repair job hold up the short-interval ticks (deadline expiry,
+     * outbox relay, token revocation polling) that promise to act within seconds.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:8}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setDaemon(true);
+        scheduler.setErrorHandler(t -> log.error("Scheduled task failed", t));
+        return scheduler;
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.jobportal.config;
 
+import com.example.jobportal.auth.service.BoundedPasswordEncoder;
 import com.example.jobportal.filter.JwtFilter;
 import com.example.jobportal.user.enums.Role;
 import com.example.jobportal.user.service.UserDetailsServiceImpl;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,6 +24,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -38,11 +43,20 @@ public class SecurityConfig {
                         // --- 1. PUBLIC ACCESS (No token required) ---
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/v1/auth/register", "/api/v1/auth/login").permitAll()
+                        // Refresh and logout authenticate with the refresh token in the body
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/refresh-token", "/api/v1/auth/logout").permitAll()
+
+                        // Password hashing capacity and login throttling metrics
+                        .requestMatchers("/api/v1/auth/hashing-metrics").hasRole(Role.ADMIN.name())
                         .requestMatchers(HttpMethod.GET, "/api/v1/company/getCompany/**").permitAll() // Public company view by ID
                         .requestMatchers(HttpMethod.GET, "/api/v1/jobs/getById/**").permitAll() // Public job view by ID
                         .requestMatchers(HttpMethod.GET, "/api/v1/jobs/getAll").permitAll() // Public job list view
+                        .requestMatchers(HttpMethod.GET, "/api/v1/jobs/search").permitAll() // Public job search
 
 
+                        // Job post approval, which makes a posting live
+                        .requestMatchers(HttpMethod.PUT, "/api/v1/jobs/approve/**").hasRole(Role.ADMIN.name())
+
                         // --- 2. EMPLOYER ROLE ACCESS (Write & Management) ---
                         // Company creation, update, and private retrieval
                         .requestMatchers("/api/v1/company/create", "/api/v1/company/update", "/api/v1/company/get").hasRole(Role.EMPLOYER.name())
@@ -51,19 +65,31 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/jobs/create", "/api/v1/jobs/update/**").hasRole(Role.EMPLOYER.name())
 
                         // Application review and status update, viewing applications by employer
-                        .requestMatchers("/api/v1/applications/status/update", "/api/v1/applications/by-employer").hasRole(Role.EMPLOYER.name())
+                        .requestMatchers("/api/v1/applications/status/bulk-update", "/api/v1/applications/by-employer", "/api/v1/applications/ranked/**", "/api/v1/applications/funnel/**").hasRole(Role.EMPLOYER.name())
+
+                        // Single status update: employers move applications along, candidates withdraw their own
+                        .requestMatchers("/api/v1/applications/status/update").hasAnyRole(Role.EMPLOYER.name(), Role.APPLICANT.name(), Role.ADMIN.name())
+
+                        // Hiring analytics dashboards
+                        .requestMatchers("/api/v1/analytics/**").hasRole(Role.EMPLOYER.name())
 
                         // --- 3. APPLICANT ROLE ACCESS (Resume & Submission) ---
                         // Resume/Profile creation/management
                         .requestMatchers("/api/v1/resume/**").hasRole(Role.APPLICANT.name())
 
+                        // Saved job alerts
+                        .requestMatchers("/api/v1/alerts/**").hasRole(Role.APPLICANT.name())
+
+                        // Skill-based job recommendations
+                        .requestMatchers(HttpMethod.GET, "/api/v1/jobs/recommended").hasRole(Role.APPLICANT.name())
+
                         // Application submission and viewing personal applications/history
-                        .requestMatchers("/api/v1/applications/submit", "/api/v1/applications/my-applications", "/api/v1/applications/getById/**", "/api/v1/applications/history/**").hasRole(Role.APPLICANT.name())
+                        .requestMatchers("/api/v1/applications/submit", "/api/v1/applications/submit-async", "/api/v1/applications/submissions/**", "/api/v1/applications/my-applications", "/api/v1/applications/getById/**", "/api/v1/applications/history/**").hasRole(Role.APPLICANT.name())
 
 
                         // --- 4. AUTHENTICATED ACCESS (Token required for any logged-in user) ---
-                        // Auth user details, token refresh, generic user profile endpoints
-                        .requestMatchers("/api/v1/user/**", "/api/v1/auth/me", "/api/v1/auth/refresh-token").authenticated()
+                        // Auth user details, generic user profile endpoints
+                        .requestMatchers("/api/v1/user/**", "/api/v1/auth/me", "/api/v1/auth/change-password", "/api/v1/auth/deactivate").authenticated()
 
                         // Viewing job listings relevant to the user's employer account (GET /jobs/getAllActive)
                         .requestMatchers(HttpMethod.GET, "/api/v1/jobs/getAllActive").authenticated()
@@ -114,13 +140,15 @@ public class SecurityConfig {
     }
 
     @Autowired
-    public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
-        auth.userDetailsService(userDetailsServiceImpl).passwordEncoder(passwordEncoder());
+    public void configureGlobal(AuthenticationManagerBuilder auth, PasswordEncoder passwordEncoder) throws Exception {
+        auth.userDetailsService(userDetailsServiceImpl).passwordEncoder(passwordEncoder);
     }
 
+    // BCrypt runs on the bounded hashing executor, never directly on request threads.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(@Qualifier("passwordHashingExecutor") ThreadPoolExecutor passwordHashingExecutor,
+                                                  @Value("${auth.hashing.max-wait-ms:3000}") long maxWaitMs) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor, maxWaitMs);
     }
 
     @Bean
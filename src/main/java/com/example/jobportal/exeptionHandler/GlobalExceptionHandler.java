@@ -3,6 +3,7 @@ package com.example.jobportal.exeptionHandler;
 import com.example.jobportal.exeptionHandler.customException.*;
 import com.example.jobportal.exeptionHandler.dto.ErrorMessage;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -119,4 +120,64 @@ public class GlobalExceptionHandler {
                 .timestamp(new Date(System.currentTimeMillis())).build();
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
     }
+
+    @ExceptionHandler(InvalidStatusTransition.class)
+    public ResponseEntity<ErrorMessage> handleInvalidStatusTransition(InvalidStatusTransition e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.CONFLICT)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ApplicationStatusConflict.class)
+    public ResponseEntity<ErrorMessage> handleApplicationStatusConflict(ApplicationStatusConflict e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.CONFLICT)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(SubmissionQueueFull.class)
+    public ResponseEntity<ErrorMessage> handleSubmissionQueueFull(SubmissionQueueFull e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(TooManyLoginAttempts.class)
+    public ResponseEntity<ErrorMessage> handleTooManyLoginAttempts(TooManyLoginAttempts e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(PasswordHashingBusy.class)
+    public ResponseEntity<ErrorMessage> handlePasswordHashingBusy(PasswordHashingBusy e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(InvalidRefreshToken.class)
+    public ResponseEntity<ErrorMessage> handleInvalidRefreshToken(InvalidRefreshToken e){
+        ErrorMessage errorMessage = ErrorMessage.builder()
+                .message(e.getMessage())
+                .status(HttpStatus.UNAUTHORIZED)
+                .timestamp(new Date(System.currentTimeMillis())).build();
+        return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+public class ApplicationStatusConflict extends RuntimeException {
+    public ApplicationStatusConflict(String message) {
+        super(message);
+    }
+    public ApplicationStatusConflict() {}
+}
@@ -0,0 +1,8 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+public class InvalidRefreshToken extends RuntimeException {
+    public InvalidRefreshToken(String message) {
+        super(message);
+    }
+    public InvalidRefreshToken() {}
+}
@@ -0,0 +1,8 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+public class InvalidStatusTransition extends RuntimeException {
+    public InvalidStatusTransition(String message) {
+        super(message);
+    }
+    public InvalidStatusTransition() {}
+}
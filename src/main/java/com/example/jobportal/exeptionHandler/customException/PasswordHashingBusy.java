@@ -0,0 +1,8 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+public class PasswordHashingBusy extends RuntimeException {
+    public PasswordHashingBusy(String message) {
+        super(message);
+    }
+    public PasswordHashingBusy() {}
+}
@@ -0,0 +1,8 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+public class SubmissionQueueFull extends RuntimeException {
+    public SubmissionQueueFull(String message) {
+        super(message);
+    }
+    public SubmissionQueueFull() {}
+}
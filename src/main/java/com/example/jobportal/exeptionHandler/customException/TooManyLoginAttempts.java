@@ -0,0 +1,13 @@
+package com.example.jobportal.exeptionHandler.customException;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyLoginAttempts extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttempts(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
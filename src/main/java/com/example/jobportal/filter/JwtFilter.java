@@ -1,9 +1,8 @@
 package com.example.jobportal.filter;
 
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.auth.service.TokenRevocationService;
 import com.example.jobportal.user.enums.Role;
-import com.example.jobportal.user.repository.UserRepository;
-import com.example.jobportal.user.entity.User;
 import com.example.jobportal.util.Jwtutil;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -29,13 +28,14 @@ public class JwtFilter extends OncePerRequestFilter {
     private Jwtutil jwtutil;
 
     @Autowired
-    private UserRepository userRepository;
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     public void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
         String token = null;
         String username = null;
+        Claims claims = null;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -43,66 +43,66 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         try {
+            // One verification per request (and per token while it is cached); expired or forged
+            // tokens throw here.
             token = authHeader.substring(7);
-            username = jwtutil.extractUsername(token);
+            claims = jwtutil.verify(token);
+            username = claims.getSubject();
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            boolean userExist = userRepository.getUserByEmail(username)!=null;
-            if (!userExist) {
+            // --- Claim Retrieval (Null-Safe) ---
+            String userId = claims.get("userId", String.class);
+            String roleString = claims.get("role", String.class);
+
+            if (userId == null || roleString == null) {
                 filterChain.doFilter(request, response);
                 return;
             }
-            if (jwtutil.isValid(token)) {
-
-                Claims claims = jwtutil.extractAllClaims(token);
-
-                // --- Claim Retrieval (Null-Safe) ---
-                String userId = claims.get("userId", String.class);
-                String roleString = claims.get("role", String.class);
-
-                if (userId == null || roleString == null) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                String profileId = claims.get("profileId", String.class);
-                String resumeId = claims.get("resumeId", String.class);
-                String companyId = claims.get("companyId", String.class);
-                String name = claims.get("name", String.class);
-                Role role = Role.valueOf(roleString);
-
-                boolean requiresRefresh = (role.equals(Role.APPLICANT) && resumeId == null) || (role.equals(Role.EMPLOYER) && companyId == null);
-
-                List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
-
-                // 2. Build the Custom Principal
-                JobPortalUserPrincipal principal = new JobPortalUserPrincipal(
-                        userId,
-                        profileId,
-                        resumeId,
-                        companyId,
-                        username,
-                        name,
-                        null,
-                        role,
-                        authorities,
-                        requiresRefresh
-                );
-
-                // 3. Set Authentication Context
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        principal,
-                        null,
-                        principal.getAuthorities()
-                );
-
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+            // Revoked by a password change or deactivation? Answered from memory, no lookup.
+            long tokenVersion = claims.get("tokenVersion") instanceof Number version ? version.longValue() : 0L;
+            if (!tokenRevocationService.isCurrent(userId, tokenVersion)) {
+                filterChain.doFilter(request, response);
+                return;
             }
+
+            String profileId = claims.get("profileId", String.class);
+            String resumeId = claims.get("resumeId", String.class);
+            String companyId = claims.get("companyId", String.class);
+            String name = claims.get("name", String.class);
+            Role role = Role.valueOf(roleString);
+
+            boolean requiresRefresh = (role.equals(Role.APPLICANT) && resumeId == null) || (role.equals(Role.EMPLOYER) && companyId == null);
+
+            List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+
+            // 2. Build the Custom Principal
+            JobPortalUserPrincipal principal = new JobPortalUserPrincipal(
+                    userId,
+                    profileId,
+                    resumeId,
+                    companyId,
+                    username,
+                    name,
+                    null,
+                    role,
+                    authorities,
+                    requiresRefresh
+            );
+
+            // 3. Set Authentication Context
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    principal.getAuthorities()
+            );
+
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
         filterChain.doFilter(request, response);
     }
@@ -1,9 +1,14 @@
 package com.example.jobportal.job.controller;
 
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.job.dto.JobFeedResponse;
 import com.example.jobportal.job.dto.JobPostingDto;
+import com.example.jobportal.job.dto.JobSearchRequestDto;
+import com.example.jobportal.job.dto.RecommendedJob;
 import com.example.jobportal.job.entity.JobPosting;
 import com.example.jobportal.job.service.JobPostingService;
+import com.example.jobportal.job.service.JobRecommendationService;
+import com.example.jobportal.job.service.JobSearchService;
 import com.example.jobportal.user.dto.ResponseMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +28,12 @@ public class JobPostingController {
     @Autowired
     private JobPostingService jobPostingService;
 
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private JobRecommendationService jobRecommendationService;
+
     @PostMapping("/create")
     public ResponseEntity<ResponseMessage> createJobPosting(
             @RequestBody JobPostingDto jobPostingDto,
@@ -54,6 +65,16 @@ public class JobPostingController {
         return ResponseEntity.ok(responseMessage);
     }
 
+    @PutMapping("/approve/{jobId}")
+    public ResponseEntity<ResponseMessage> approveJobPosting(@PathVariable String jobId) {
+        jobPostingService.approveJobPosting(jobId);
+
+        ResponseMessage responseMessage = ResponseMessage.builder()
+                .message("Job post approved")
+                .build();
+        return ResponseEntity.ok(responseMessage);
+    }
+
     @GetMapping("/getAllActive")
     public ResponseEntity<List<JobPosting>> getAllActiveJobs(@AuthenticationPrincipal JobPortalUserPrincipal principal) {
         List<JobPosting> jobs = jobPostingService.findAllJobsByUser(principal);
@@ -61,13 +82,33 @@ public class JobPostingController {
     }
 
     @GetMapping("/getAll")
-    public ResponseEntity<List<JobPosting>> getAllJobs(
-            @RequestParam(value = "page", defaultValue = "0", required = false) int page,
-            @RequestParam(value = "size", defaultValue = "100", required = false) int size) {
-        List<JobPosting> paginatedJobs = jobPostingService.getRecentJobs(page, size);
+    public ResponseEntity<JobFeedResponse> getAllJobs(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
+        JobFeedResponse paginatedJobs = jobPostingService.getRecentJobs(cursor, size);
         return ResponseEntity.ok(paginatedJobs);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<JobPosting>> searchJobs(
+            @ModelAttribute JobSearchRequestDto searchRequest,
+            @RequestParam(value = "page", defaultValue = "0", required = false) int page,
+            @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
+        List<JobPosting> jobs = jobSearchService.search(searchRequest, page, size);
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping("/recommended")
+    public ResponseEntity<List<RecommendedJob>> getRecommendedJobs(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @RequestParam(value = "limit", defaultValue = "20", required = false) int limit) {
+
+        if (principal == null) throw new AccessDeniedException("Authentication required to get job recommendations.");
+
+        List<RecommendedJob> recommendedJobs = jobRecommendationService.recommendJobs(principal, limit);
+        return ResponseEntity.ok(recommendedJobs);
+    }
+
     @GetMapping("/getById/{jobId}")
     public ResponseEntity<JobPosting> getJobById(@PathVariable String jobId) {
         JobPosting job = jobPostingService.findJobPostById(jobId);
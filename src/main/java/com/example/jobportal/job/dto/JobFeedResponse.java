@@ -0,0 +1,14 @@
+package com.example.jobportal.job.dto;
+
+import com.example.jobportal.job.entity.JobPosting;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class JobFeedResponse {
+    private List<JobPosting> jobs;
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.example.jobportal.job.dto;
+
+import com.example.jobportal.job.entity.JobPosting;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RecommendedJob {
+    private JobPosting job;
+    private int matchedSkills;
+    private int requiredSkills;
+    private double score;
+}
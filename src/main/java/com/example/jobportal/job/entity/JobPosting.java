@@ -9,6 +9,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
@@ -20,6 +21,8 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Document(collection = "job_post")
+@CompoundIndex(name = "live_feed_idx", def = "{'isActive': 1, 'isApproved': 1, 'postedDate': -1, '_id': -1, 'deadline': 1}")
+@CompoundIndex(name = "expiry_idx", def = "{'isActive': 1, 'deadline': 1}")
 public class JobPosting {
     @Id
     private String id;
@@ -8,9 +8,10 @@ import org.springframework.stereotype.Repository;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface JobPostingRepository extends MongoRepository<JobPosting,String> {
+public interface JobPostingRepository extends MongoRepository<JobPosting,String>, JobPostingRepositoryCustom {
     JobPosting getJobPostingById(String id);
 
     JobPosting findJobPostingById(String id);
@@ -23,6 +24,10 @@ public interface JobPostingRepository extends MongoRepository<JobPosting,String>
     @Query("{ 'isActive' : ?0, 'isApproved' : ?1 , 'deadline' : { '$gt' : ?2 } }")
     List<JobPosting> getAllByActiveAndDeadlineAfterAndApproved(boolean active, boolean approved, Date deadlineBefore);;
 
-    @Query("{ 'isActive' : ?0, 'deadline' : { '$gt' : ?1 } }")
-    List<JobPosting> getAllByActiveAndDeadlineAfter(boolean active, Date deadlineBefore);;
+    @Query("{ 'isActive' : true, 'isApproved' : true, 'deadline' : { '$gt' : ?0 } }")
+    Stream<JobPosting> streamLiveJobs(Date now);
+
+    @Query(value = "{ 'isActive' : true, 'isApproved' : true, 'deadline' : { '$gt' : ?0 } }",
+            fields = "{ 'requiredSkill' : 1, 'isActive' : 1, 'isApproved' : 1, 'deadline' : 1 }")
+    Stream<JobPosting> streamLiveJobSkills(Date now);
 }
@@ -0,0 +1,32 @@
+package com.example.jobportal.job.repository;
+
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.util.KeysetCursor;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface JobPostingRepositoryCustom {
+
+    /**
+     * Live (active, approved, not expired) postings ordered by (postedDate, id) descending,
+     * strictly after {@code after} when a cursor is given.
+     */
+    List<JobPosting> findLiveJobsPage(KeysetCursor after, Date now, int limit);
+
+    /**
+     * Active postings whose deadline falls in (from, to], with only id and deadline loaded.
+     */
+    List<JobPosting> findUpcomingDeadlines(Date from, Date to);
+
+    /**
+     * Deactivates the given postings if they are still active and past their deadline.
+     */
+    long deactivateExpired(Collection<String> jobIds, Date now);
+
+    /**
+     * Deactivates every active posting whose deadline has passed.
+     */
+    long deactivateExpired(Date now);
+}
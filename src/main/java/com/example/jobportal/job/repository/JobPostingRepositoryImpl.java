@@ -0,0 +1,60 @@
+package com.example.jobportal.job.repository;
+
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.util.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public class JobPostingRepositoryImpl implements JobPostingRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public JobPostingRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<JobPosting> findLiveJobsPage(KeysetCursor after, Date now, int limit) {
+        Criteria criteria = Criteria.where("isActive").is(true)
+                .and("isApproved").is(true)
+                .and("deadline").gt(now);
+
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("postedDate").lt(after.date()),
+                    Criteria.where("postedDate").is(after.date()).and("id").lt(after.id())
+            );
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "postedDate", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, JobPosting.class);
+    }
+
+    @Override
+    public List<JobPosting> findUpcomingDeadlines(Date from, Date to) {
+        Query query = Query.query(Criteria.where("isActive").is(true).and("deadline").gt(from).lte(to));
+        query.fields().include("id", "deadline");
+        return mongoTemplate.find(query, JobPosting.class);
+    }
+
+    @Override
+    public long deactivateExpired(Collection<String> jobIds, Date now) {
+        Query query = Query.query(Criteria.where("id").in(jobIds).and("isActive").is(true).and("deadline").lte(now));
+        return mongoTemplate.updateMulti(query, Update.update("isActive", false), JobPosting.class).getModifiedCount();
+    }
+
+    @Override
+    public long deactivateExpired(Date now) {
+        Query query = Query.query(Criteria.where("isActive").is(true).and("deadline").lte(now));
+        return mongoTemplate.updateMulti(query, Update.update("isActive", false), JobPosting.class).getModifiedCount();
+    }
+}
@@ -1,20 +1,21 @@
 package com.example.jobportal.job.service;
 
+import com.example.jobportal.application.service.JobAlertService;
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
 import com.example.jobportal.company.entity.Company;
 import com.example.jobportal.company.repository.CompanyRepository;
 import com.example.jobportal.exeptionHandler.customException.CompanyNotFound;
 import com.example.jobportal.exeptionHandler.customException.JobPostNotFound;
+import com.example.jobportal.job.dto.JobFeedResponse;
 import com.example.jobportal.job.dto.JobPostingDto;
 import com.example.jobportal.job.entity.JobPosting;
 import com.example.jobportal.job.repository.JobPostingRepository;
+import com.example.jobportal.scheduler.JobScheduler;
 import com.example.jobportal.user.entity.User;
 import com.example.jobportal.user.repository.UserRepository;
+import com.example.jobportal.util.KeysetCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -26,12 +27,26 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 public class JobPostingService {
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private JobScheduler jobScheduler;
+
+    @Autowired
+    private JobAlertService jobAlertService;
+
     public JobPosting createJobPosting(JobPostingDto jobPostingDto, JobPortalUserPrincipal principal) {
         String companyId = principal.getCompanyId();
 
@@ -53,7 +68,12 @@ public class JobPostingService {
                 .isActive(true)
                 .isApproved(false)
                 .build();
-        return jobPostingRepository.save(jobPosting);
+        JobPosting savedJobPosting = jobPostingRepository.save(jobPosting);
+        jobSearchIndex.upsert(savedJobPosting);
+        skillMatchIndex.upsert(savedJobPosting);
+        jobScheduler.schedule(savedJobPosting);
+        if (isLive(savedJobPosting)) jobAlertService.onJobPostingLive(savedJobPosting);
+        return savedJobPosting;
     }
 
     public JobPosting updateJobPosting(String jobId,JobPostingDto jobPostingDto, JobPortalUserPrincipal principal) {
@@ -65,6 +85,7 @@ public class JobPostingService {
         if (!jobPosting.getCompanyId().equals(companyId)){
             throw new AccessDeniedException("You are not authorized to update this job posting.");
         }
+        boolean wasLive = isLive(jobPosting);
 
         if (jobPostingDto.getTitle()!=null) jobPosting.setTitle(jobPostingDto.getTitle());
         if (jobPostingDto.getDescription()!=null) jobPosting.setDescription(jobPostingDto.getDescription());
@@ -78,7 +99,35 @@ public class JobPostingService {
             jobPosting.setApproved(false);
         }
 
-        return jobPostingRepository.save(jobPosting);
+        JobPosting savedJobPosting = jobPostingRepository.save(jobPosting);
+        jobSearchIndex.upsert(savedJobPosting);
+        skillMatchIndex.upsert(savedJobPosting);
+        jobScheduler.schedule(savedJobPosting);
+        if (!wasLive && isLive(savedJobPosting)) jobAlertService.onJobPostingLive(savedJobPosting);
+        return savedJobPosting;
+    }
+
+    /**
+     * Approves a posting. This is the transition that makes a posting live, so it is where new
+     * postings are percolated against job alerts.
+     */
+    public JobPosting approveJobPosting(String jobId) {
+        JobPosting jobPosting = jobPostingRepository.findJobPostingById(jobId);
+        if (jobPosting == null) throw new JobPostNotFound("Job posting not found");
+        if (jobPosting.isApproved()) return jobPosting;
+        boolean wasLive = isLive(jobPosting);
+
+        jobPosting.setApproved(true);
+        JobPosting savedJobPosting = jobPostingRepository.save(jobPosting);
+        jobSearchIndex.upsert(savedJobPosting);
+        skillMatchIndex.upsert(savedJobPosting);
+        jobScheduler.schedule(savedJobPosting);
+        if (!wasLive && isLive(savedJobPosting)) jobAlertService.onJobPostingLive(savedJobPosting);
+        return savedJobPosting;
+    }
+
+    private static boolean isLive(JobPosting jobPosting) {
+        return jobPosting.isActive() && jobPosting.isApproved();
     }
 
     public List<JobPosting> findAllJobsByUser(JobPortalUserPrincipal principal) {
@@ -92,11 +141,22 @@ public class JobPostingService {
         return jobPosting;
     }
 
-    public List<JobPosting> getRecentJobs(int page, int size) {
-        Sort sort = Sort.by(Sort.Direction.DESC, "postedDate");
-        Pageable pageable = PageRequest.of(page, size, sort);
-        List<JobPosting> jobs = jobPostingRepository.getAllByActiveAndDeadlineAfterAndApproved(true, true, new Date());
-        if (jobs == null) throw new JobPostNotFound("Job posting not found");
-        return jobs;
+    public JobFeedResponse getRecentJobs(String cursor, int size) {
+        if (size <= 0 || size > MAX_FEED_PAGE_SIZE) throw new IllegalArgumentException("Page size must be between 1 and " + MAX_FEED_PAGE_SIZE);
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        // One extra row tells us whether another page exists without a count query.
+        List<JobPosting> jobs = jobPostingRepository.findLiveJobsPage(after, new Date(), size + 1);
+
+        String nextCursor = null;
+        if (jobs.size() > size) {
+            jobs = jobs.subList(0, size);
+            JobPosting last = jobs.get(size - 1);
+            nextCursor = KeysetCursor.of(last.getPostedDate(), last.getId()).encode();
+        }
+        return JobFeedResponse.builder()
+                .jobs(jobs)
+                .nextCursor(nextCursor)
+                .build();
     }
 }
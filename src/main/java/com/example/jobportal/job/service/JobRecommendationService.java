@@ -0,0 +1,98 @@
+package com.example.jobportal.job.service;
+
+import com.example.jobportal.auth.service.JobPortalUserPrincipal;
+import com.example.jobportal.candidate.entity.Resume;
+import com.example.jobportal.candidate.repository.ResumeRepository;
+import com.example.jobportal.exeptionHandler.customException.CandidateProfileNotCreated;
+import com.example.jobportal.job.dto.RecommendedJob;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class JobRecommendationService {
+
+    private static final int MAX_RECOMMENDATIONS = 50;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    public List<RecommendedJob> recommendJobs(JobPortalUserPrincipal principal, int limit) {
+        String resumeId = principal.getResumeId();
+        if (resumeId == null) throw new CandidateProfileNotCreated("Candidate profile not created");
+        if (limit <= 0 || limit > MAX_RECOMMENDATIONS) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RECOMMENDATIONS);
+
+        Resume resume = resumeRepository.getResumeById(resumeId);
+        if (resume == null) throw new CandidateProfileNotCreated("Candidate profile not created");
+
+        long[] candidateSkills = skillDictionary.encodeDense(resume.getSkillList());
+        List<SkillMatchIndex.ScoredJob> scoredJobs = skillMatchIndex.topJobs(candidateSkills, limit);
+        if (scoredJobs.isEmpty()) return List.of();
+
+        Map<String, JobPosting> jobsById = jobPostingRepository.findAllById(scoredJobs.stream().map(SkillMatchIndex.ScoredJob::jobId).toList())
+                .stream()
+                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
+        return scoredJobs.stream()
+                .filter(scored -> jobsById.containsKey(scored.jobId()))
+                .map(scored -> RecommendedJob.builder()
+                        .job(jobsById.get(scored.jobId()))
+                        .matchedSkills(scored.matchedSkills())
+                        .requiredSkills(scored.requiredSkills())
+                        .score(scored.score())
+                        .build())
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSkillIndex() {
+        skillMatchIndex.clear();
+        try (Stream<JobPosting> liveJobs = jobPostingRepository.streamLiveJobSkills(new Date())) {
+            liveJobs.forEach(skillMatchIndex::upsert);
+        }
+        log.info("Loaded {} job skill vectors ({} distinct skills)", skillMatchIndex.size(), skillDictionary.size());
+    }
+
+    /**
+     * Safety net for postings changed outside the job posting service (e.g. approvals done
+     * directly in the database), on the same interval as the search index rebuild. Refreshes in
+     * place so recommendations keep working meanwhile.
+     */
+    @Scheduled(initialDelayString = "${jobs.search.rebuild-interval-ms:900000}", fixedDelayString = "${jobs.search.rebuild-interval-ms:900000}")
+    public void refreshSkillIndex() {
+        // Only jobs indexed before the scan can be stale; later ones were added by live updates.
+        Set<String> stale = skillMatchIndex.jobIds();
+        try (Stream<JobPosting> liveJobs = jobPostingRepository.streamLiveJobSkills(new Date())) {
+            liveJobs.forEach(job -> {
+                stale.remove(job.getId());
+                skillMatchIndex.upsert(job);
+            });
+        } catch (RuntimeException e) {
+            log.error("Job skill index refresh failed, keeping the previous index", e);
+            return;
+        }
+        skillMatchIndex.removeAll(stale);
+    }
+}
@@ -0,0 +1,496 @@
+package com.example.jobportal.job.service;
+
+import com.example.jobportal.company.enums.JobType;
+import com.example.jobportal.company.enums.LocationType;
+import com.example.jobportal.job.dto.JobSearchRequestDto;
+import com.example.jobportal.job.entity.JobPosting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the searchable (active, approved) job postings.
+ * <p>
+ * Every posting gets a dense internal doc id. Keyword tokens from the title, description,
+ * company name and required skills map to sorted doc id lists, while location and employment
+ * type are kept as bitsets. Updates never rewrite posting lists: a changed posting is given a
+ * fresh doc id and the old one is cleared from the {@code live} set, and the lists are
+ * compacted once dead ids start to dominate.
+ */
+@Slf4j
+@Component
+public class JobSearchIndex {
+
+    // Deepest result a search can page to; the top-k heap is never larger than this.
+    public static final int MAX_RESULTS = 1 << 16;
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}+#]+");
+    private static final Pattern NUMBER = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*([kK]?)");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "the", "of", "in", "for", "to", "with", "or", "on", "at");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private IndexState state = new IndexState();
+
+    // Mutations that arrive while a full rebuild is running, replayed on top of the new state.
+    private List<Consumer<IndexState>> replayLog;
+
+    public void upsert(JobPosting jobPosting) {
+        if (jobPosting == null || jobPosting.getId() == null) return;
+        if (!isSearchable(jobPosting)) {
+            remove(jobPosting.getId());
+            return;
+        }
+        IndexedJob indexedJob = IndexedJob.of(jobPosting);
+        apply(s -> s.put(indexedJob));
+    }
+
+    public void remove(String jobId) {
+        if (jobId == null) return;
+        apply(s -> s.delete(jobId));
+    }
+
+    public void removeAll(Collection<String> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) return;
+        List<String> ids = List.copyOf(jobIds);
+        apply(s -> ids.forEach(s::delete));
+    }
+
+    /**
+     * Replaces the whole index with the given postings. The new state is built without holding
+     * the lock; writes that happen in the meantime are replayed before the swap.
+     */
+    public void rebuild(Iterable<JobPosting> jobPostings) {
+        lock.writeLock().lock();
+        try {
+            replayLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        IndexState fresh = new IndexState();
+        try {
+            for (JobPosting jobPosting : jobPostings) {
+                if (isSearchable(jobPosting)) fresh.put(IndexedJob.of(jobPosting));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                replayLog = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replayLog.forEach(mutation -> mutation.accept(fresh));
+            replayLog = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job search index rebuilt with {} postings and {} terms", fresh.liveCount, fresh.postings.size());
+    }
+
+    /**
+     * Returns the ids of matching postings ordered by posted date (newest first).
+     */
+    public List<String> search(JobSearchRequestDto request, int page, int size) {
+        long offset = (long) page * size;
+        if (offset + size > MAX_RESULTS) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_RESULTS + " matches");
+        }
+        List<String> terms = tokenize(request.getKeyword());
+        long now = System.currentTimeMillis();
+        int limit = (int) (offset + size);
+
+        lock.readLock().lock();
+        try {
+            int[] ranked = state.topMatches(terms, request, now, limit);
+            int from = (int) Math.min(offset, ranked.length);
+            List<String> ids = new ArrayList<>(ranked.length - from);
+            for (int i = from; i < ranked.length; i++) {
+                ids.add(state.jobIds[ranked[i]]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String jobId) {
+        lock.readLock().lock();
+        try {
+            return state.docByJobId.containsKey(jobId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<IndexState> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(state);
+            if (replayLog != null) replayLog.add(mutation);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isSearchable(JobPosting jobPosting) {
+        return jobPosting.isActive() && jobPosting.isApproved()
+                && (jobPosting.getDeadline() == null || jobPosting.getDeadline().getTime() > System.currentTimeMillis());
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        Set<String> tokens = new LinkedHashSet<>();
+        Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String token = matcher.group();
+            if (!STOP_WORDS.contains(token)) tokens.add(token);
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Distinct search terms of a posting: title, description, company name and required skills.
+     */
+    public static Set<String> documentTerms(JobPosting jobPosting) {
+        Set<String> terms = new LinkedHashSet<>();
+        terms.addAll(tokenize(jobPosting.getTitle()));
+        terms.addAll(tokenize(jobPosting.getDescription()));
+        terms.addAll(tokenize(jobPosting.getCompanyName()));
+        if (jobPosting.getRequiredSkill() != null) {
+            jobPosting.getRequiredSkill().forEach(skill -> terms.addAll(tokenize(skill)));
+        }
+        return terms;
+    }
+
+    /**
+     * Parses free-form ranges such as "50000-80000", "40k - 60k" or "90000" into {min, max}.
+     * Returns {@code null} when no number is present.
+     */
+    static int[] parseSalaryRange(String salaryRange) {
+        if (salaryRange == null) return null;
+        Matcher matcher = NUMBER.matcher(salaryRange);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        boolean found = false;
+        while (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) value *= 1000;
+            int amount = (int) Math.min(value, Integer.MAX_VALUE);
+            min = Math.min(min, amount);
+            max = Math.max(max, amount);
+            found = true;
+        }
+        return found ? new int[]{min, max} : null;
+    }
+
+    /**
+     * Immutable, pre-tokenized view of a posting, built outside the index lock.
+     */
+    private record IndexedJob(String jobId, String[] terms, LocationType locationType, JobType employmentType,
+                              long postedDate, long deadline, int minSalary, int maxSalary) {
+
+        static IndexedJob of(JobPosting jobPosting) {
+            Set<String> terms = documentTerms(jobPosting);
+            int[] salary = parseSalaryRange(jobPosting.getSalaryRange());
+            return new IndexedJob(
+                    jobPosting.getId(),
+                    terms.toArray(String[]::new),
+                    jobPosting.getLocationType(),
+                    jobPosting.getEmploymentType(),
+                    jobPosting.getPostedDate() != null ? jobPosting.getPostedDate().getTime() : 0L,
+                    jobPosting.getDeadline() != null ? jobPosting.getDeadline().getTime() : Long.MAX_VALUE,
+                    salary != null ? salary[0] : -1,
+                    salary != null ? salary[1] : -1
+            );
+        }
+    }
+
+    /**
+     * Sorted, append-only list of doc ids. Doc ids are handed out in increasing order, so
+     * appending keeps the list sorted.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) docs = Arrays.copyOf(docs, size << 1);
+            docs[size++] = doc;
+        }
+
+        /**
+         * Gallops forward from {@code from} and returns the first position whose doc is >= target.
+         */
+        int advance(int from, int target) {
+            int bound = 1;
+            int lo = from;
+            while (lo + bound < size && docs[lo + bound] < target) {
+                lo += bound;
+                bound <<= 1;
+            }
+            int hi = Math.min(lo + bound, size - 1);
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (docs[mid] < target) lo = mid + 1;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+    }
+
+    private static final class IndexState {
+        final Map<String, Postings> postings = new HashMap<>();
+        final Map<String, Integer> docByJobId = new HashMap<>();
+        final EnumMap<LocationType, BitSet> byLocation = new EnumMap<>(LocationType.class);
+        final EnumMap<JobType, BitSet> byEmploymentType = new EnumMap<>(JobType.class);
+        final BitSet live = new BitSet();
+
+        String[] jobIds = new String[1024];
+        long[] postedDates = new long[1024];
+        long[] deadlines = new long[1024];
+        int[] minSalaries = new int[1024];
+        int[] maxSalaries = new int[1024];
+
+        int nextDoc;
+        int liveCount;
+
+        void put(IndexedJob job) {
+            delete(job.jobId());
+            if (nextDoc == jobIds.length) grow();
+
+            int doc = nextDoc++;
+            jobIds[doc] = job.jobId();
+            postedDates[doc] = job.postedDate();
+            deadlines[doc] = job.deadline();
+            minSalaries[doc] = job.minSalary();
+            maxSalaries[doc] = job.maxSalary();
+
+            for (String term : job.terms()) {
+                postings.computeIfAbsent(term, t -> new Postings()).add(doc);
+            }
+            if (job.locationType() != null) {
+                byLocation.computeIfAbsent(job.locationType(), l -> new BitSet()).set(doc);
+            }
+            if (job.employmentType() != null) {
+                byEmploymentType.computeIfAbsent(job.employmentType(), t -> new BitSet()).set(doc);
+            }
+            live.set(doc);
+            docByJobId.put(job.jobId(), doc);
+            liveCount++;
+        }
+
+        void delete(String jobId) {
+            Integer doc = docByJobId.remove(jobId);
+            if (doc == null) return;
+            live.clear(doc);
+            jobIds[doc] = null;
+            liveCount--;
+            if (nextDoc > 4096 && liveCount < nextDoc / 2) compact();
+        }
+
+        int[] topMatches(List<String> terms, JobSearchRequestDto request, long now, int limit) {
+            if (limit <= 0) return new int[0];
+            BitSet location = request.getLocation() != null ? byLocation.get(request.getLocation()) : null;
+            BitSet employmentType = request.getEmploymentType() != null ? byEmploymentType.get(request.getEmploymentType()) : null;
+            if ((request.getLocation() != null && location == null) || (request.getEmploymentType() != null && employmentType == null)) {
+                return new int[0];
+            }
+
+            TopByPostedDate top = new TopByPostedDate(limit, postedDates);
+
+            if (terms.isEmpty()) {
+                for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+                    if (accepts(doc, request, location, employmentType, now)) top.offer(doc);
+                }
+                return top.drainDescending();
+            }
+
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) return new int[0];
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            // Drive the intersection from the rarest term and gallop through the others.
+            int[] cursors = new int[lists.length];
+            Postings driver = lists[0];
+            outer:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                // Cheap column filters first; the cursors only ever move forward, so skipping is safe.
+                if (!live.get(doc) || !accepts(doc, request, location, employmentType, now)) continue;
+                for (int l = 1; l < lists.length; l++) {
+                    Postings other = lists[l];
+                    int pos = other.advance(cursors[l], doc);
+                    cursors[l] = pos;
+                    if (pos >= other.size) break outer;
+                    if (other.docs[pos] != doc) continue outer;
+                }
+                top.offer(doc);
+            }
+            return top.drainDescending();
+        }
+
+        private boolean accepts(int doc, JobSearchRequestDto request, BitSet location, BitSet employmentType, long now) {
+            if (deadlines[doc] <= now) return false;
+            if (location != null && !location.get(doc)) return false;
+            if (employmentType != null && !employmentType.get(doc)) return false;
+            if (request.getMinSalary() != null && (maxSalaries[doc] < 0 || maxSalaries[doc] < request.getMinSalary())) return false;
+            if (request.getMaxSalary() != null && (minSalaries[doc] < 0 || minSalaries[doc] > request.getMaxSalary())) return false;
+            return true;
+        }
+
+        private void grow() {
+            int capacity = jobIds.length << 1;
+            jobIds = Arrays.copyOf(jobIds, capacity);
+            postedDates = Arrays.copyOf(postedDates, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            minSalaries = Arrays.copyOf(minSalaries, capacity);
+            maxSalaries = Arrays.copyOf(maxSalaries, capacity);
+        }
+
+        /**
+         * Renumbers the live docs densely and drops dead ids from every posting list.
+         */
+        private void compact() {
+            int[] remap = new int[nextDoc];
+            int next = 0;
+            for (int doc = 0; doc < nextDoc; doc++) {
+                if (live.get(doc)) {
+                    remap[doc] = next;
+                    jobIds[next] = jobIds[doc];
+                    postedDates[next] = postedDates[doc];
+                    deadlines[next] = deadlines[doc];
+                    minSalaries[next] = minSalaries[doc];
+                    maxSalaries[next] = maxSalaries[doc];
+                    next++;
+                } else {
+                    remap[doc] = -1;
+                }
+            }
+            Arrays.fill(jobIds, next, nextDoc, null);
+
+            postings.values().removeIf(list -> {
+                int kept = 0;
+                for (int i = 0; i < list.size; i++) {
+                    int mapped = remap[list.docs[i]];
+                    if (mapped >= 0) list.docs[kept++] = mapped;
+                }
+                list.size = kept;
+                return kept == 0;
+            });
+            byLocation.replaceAll((key, bits) -> remapBits(bits, remap));
+            byEmploymentType.replaceAll((key, bits) -> remapBits(bits, remap));
+
+            live.clear();
+            live.set(0, next);
+            docByJobId.replaceAll((jobId, doc) -> remap[doc]);
+            nextDoc = next;
+        }
+
+        private static BitSet remapBits(BitSet bits, int[] remap) {
+            BitSet remapped = new BitSet();
+            for (int doc = bits.nextSetBit(0); doc >= 0 && doc < remap.length; doc = bits.nextSetBit(doc + 1)) {
+                if (remap[doc] >= 0) remapped.set(remap[doc]);
+            }
+            return remapped;
+        }
+    }
+
+    /**
+     * Bounded min-heap on posted date that keeps the newest {@code limit} docs.
+     */
+    private static final class TopByPostedDate {
+        private final int[] heap;
+        private final long[] postedDates;
+        private int size;
+
+        TopByPostedDate(int limit, long[] postedDates) {
+            this.heap = new int[Math.min(limit, MAX_RESULTS)];
+            this.postedDates = postedDates;
+        }
+
+        void offer(int doc) {
+            if (size < heap.length) {
+                heap[size] = doc;
+                siftUp(size++);
+            } else if (newer(doc, heap[0])) {
+                heap[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        int[] drainDescending() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private boolean newer(int a, int b) {
+            return postedDates[a] != postedDates[b] ? postedDates[a] > postedDates[b] : a > b;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!newer(heap[parent], heap[i])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int smallest = left;
+                int right = left + 1;
+                if (right < size && newer(heap[left], heap[right])) smallest = right;
+                if (!newer(heap[i], heap[smallest])) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
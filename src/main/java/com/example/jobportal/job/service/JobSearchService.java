@@ -0,0 +1,84 @@
+package com.example.jobportal.job.service;
+
+import com.example.jobportal.application.service.JobAlertService;
+import com.example.jobportal.job.dto.JobSearchRequestDto;
+import com.example.jobportal.job.entity.JobPosting;
+import com.example.jobportal.job.repository.JobPostingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class JobSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private JobAlertService jobAlertService;
+
+    public List<JobPosting> search(JobSearchRequestDto request, int page, int size) {
+        if (page < 0) throw new IllegalArgumentException("Page index must not be negative");
+        if (size <= 0 || size > MAX_PAGE_SIZE) throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+
+        List<String> jobIds = jobSearchIndex.search(request, page, size);
+        if (jobIds.isEmpty()) return List.of();
+
+        // The index decides the order; Mongo only resolves the page by _id.
+        Map<String, JobPosting> jobsById = jobPostingRepository.findAllById(jobIds).stream()
+                .collect(Collectors.toMap(JobPosting::getId, Function.identity()));
+        return jobIds.stream()
+                .map(jobsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexOnStartup() {
+        rebuild(false);
+    }
+
+    /**
+     * Safety net for postings changed outside this service (e.g. approvals done directly in the
+     * database). Regular create/update/approve/expiry paths keep the index current on their own.
+     * Postings that are live now but were not in the index went live outside those paths, so they
+     * are percolated against job alerts here.
+     */
+    @Scheduled(initialDelayString = "${jobs.search.rebuild-interval-ms:900000}", fixedDelayString = "${jobs.search.rebuild-interval-ms:900000}")
+    public void rebuildIndex() {
+        rebuild(true);
+    }
+
+    private void rebuild(boolean percolateNewlyLive) {
+        List<JobPosting> newlyLive = new ArrayList<>();
+        try (Stream<JobPosting> liveJobs = jobPostingRepository.streamLiveJobs(new Date())) {
+            Stream<JobPosting> scanned = percolateNewlyLive
+                    ? liveJobs.peek(job -> { if (!jobSearchIndex.contains(job.getId())) newlyLive.add(job); })
+                    : liveJobs;
+            jobSearchIndex.rebuild(scanned::iterator);
+        } catch (RuntimeException e) {
+            log.error("Job search index rebuild failed, keeping the previous index", e);
+            return;
+        }
+        newlyLive.forEach(jobAlertService::onJobPostingLive);
+        if (!newlyLive.isEmpty()) log.info("Percolated {} postings that went live outside the job posting service", newlyLive.size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.jobportal.job.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns free-form skill names ("Spring Boot", " spring  boot") into dense integer ids so skill
+ * lists can be compared as bitsets.
+ */
+@Component
+public class SkillDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    public int intern(String skill) {
+        String key = normalize(skill);
+        if (key == null) return -1;
+        return ids.computeIfAbsent(key, k -> nextId.getAndIncrement());
+    }
+
+    public int lookup(String skill) {
+        String key = normalize(skill);
+        if (key == null) return -1;
+        return ids.getOrDefault(key, -1);
+    }
+
+    public int size() {
+        return nextId.get();
+    }
+
+    /**
+     * Sparse encoding for a job's required skills; unknown skills are interned.
+     */
+    public SkillVector encodeRequired(List<String> skills) {
+        if (skills == null || skills.isEmpty()) return SkillVector.EMPTY;
+        int[] skillIds = skills.stream().mapToInt(this::intern).filter(id -> id >= 0).distinct().sorted().toArray();
+        return SkillVector.of(skillIds);
+    }
+
+    /**
+     * Dense encoding for a candidate's skills. Skills no job has ever asked for cannot contribute
+     * to a score, so they are skipped instead of interned.
+     */
+    public long[] encodeDense(List<String> skills) {
+        long[] bits = new long[(size() + 63) >>> 6];
+        if (skills == null) return bits;
+        for (String skill : skills) {
+            int id = lookup(skill);
+            if (id >= 0 && (id >>> 6) < bits.length) bits[id >>> 6] |= 1L << id;
+        }
+        return bits;
+    }
+
+    /**
+     * Number of {@code required} skills among {@code skills}, computed sparsely: only the required
+     * words are copied, so the cost does not grow with the dictionary.
+     */
+    public int overlap(SkillVector required, List<String> skills) {
+        if (skills == null || required.skillCount() == 0) return 0;
+        long[] remaining = required.words().clone();
+        int shared = 0;
+        for (String skill : skills) {
+            int id = lookup(skill);
+            if (id < 0) continue;
+            int word = Arrays.binarySearch(required.wordIndexes(), id >>> 6);
+            if (word >= 0 && (remaining[word] & (1L << id)) != 0) {
+                // Cleared so a skill listed twice is only counted once.
+                remaining[word] &= ~(1L << id);
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    static String normalize(String skill) {
+        if (skill == null) return null;
+        String key = skill.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Sparse bitset: only the non-zero 64-bit words and their positions are stored.
+     */
+    public record SkillVector(int[] wordIndexes, long[] words, int skillCount) {
+
+        static final SkillVector EMPTY = new SkillVector(new int[0], new long[0], 0);
+
+        static SkillVector of(int[] sortedSkillIds) {
+            if (sortedSkillIds.length == 0) return EMPTY;
+            int[] wordIndexes = new int[sortedSkillIds.length];
+            long[] words = new long[sortedSkillIds.length];
+            int count = 0;
+            for (int id : sortedSkillIds) {
+                int word = id >>> 6;
+                if (count == 0 || wordIndexes[count - 1] != word) {
+                    wordIndexes[count] = word;
+                    count++;
+                }
+                words[count - 1] |= 1L << id;
+            }
+            return new SkillVector(Arrays.copyOf(wordIndexes, count), Arrays.copyOf(words, count), sortedSkillIds.length);
+        }
+
+        /**
+         * Number of skills shared with the dense vector.
+         */
+        public int overlap(long[] dense) {
+            int shared = 0;
+            for (int i = 0; i < wordIndexes.length; i++) {
+                int word = wordIndexes[i];
+                if (word < dense.length) shared += Long.bitCount(dense[word] & words[i]);
+            }
+            return shared;
+        }
+    }
+}
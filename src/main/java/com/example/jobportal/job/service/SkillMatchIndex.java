@@ -0,0 +1,186 @@
+package com.example.jobportal.job.service;
+
+import com.example.jobportal.job.entity.JobPosting;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Skill bitsets of the live job postings, scored against a candidate with popcounts.
+ * Jobs are stored in slot-indexed parallel arrays so a full scan touches no per-job objects
+ * besides the sparse word arrays.
+ */
+@Component
+public class SkillMatchIndex {
+
+    private final SkillDictionary skillDictionary;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotByJobId = new HashMap<>();
+
+    private String[] jobIds = new String[1024];
+    private int[][] wordIndexes = new int[1024][];
+    private long[][] words = new long[1024][];
+    private int[] skillCounts = new int[1024];
+    private long[] deadlines = new long[1024];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int nextSlot;
+
+    public SkillMatchIndex(SkillDictionary skillDictionary) {
+        this.skillDictionary = skillDictionary;
+    }
+
+    public record ScoredJob(String jobId, int matchedSkills, int requiredSkills, float score) {
+    }
+
+    public void upsert(JobPosting jobPosting) {
+        if (jobPosting == null || jobPosting.getId() == null) return;
+        boolean live = jobPosting.isActive() && jobPosting.isApproved()
+                && (jobPosting.getDeadline() == null || jobPosting.getDeadline().getTime() > System.currentTimeMillis());
+        if (!live) {
+            remove(jobPosting.getId());
+            return;
+        }
+        SkillDictionary.SkillVector vector = skillDictionary.encodeRequired(jobPosting.getRequiredSkill());
+        if (vector.skillCount() == 0) {
+            remove(jobPosting.getId());
+            return;
+        }
+        long deadline = jobPosting.getDeadline() != null ? jobPosting.getDeadline().getTime() : Long.MAX_VALUE;
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByJobId.get(jobPosting.getId());
+            if (slot == null) {
+                slot = allocateSlot();
+                slotByJobId.put(jobPosting.getId(), slot);
+            }
+            jobIds[slot] = jobPosting.getId();
+            wordIndexes[slot] = vector.wordIndexes();
+            words[slot] = vector.words();
+            skillCounts[slot] = vector.skillCount();
+            deadlines[slot] = deadline;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAll(Collection<String> jobIdsToRemove) {
+        if (jobIdsToRemove == null || jobIdsToRemove.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            jobIdsToRemove.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotByJobId.clear();
+            Arrays.fill(jobIds, null);
+            freeCount = 0;
+            nextSlot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code k} live jobs by the share of their required skills the candidate has.
+     */
+    public List<ScoredJob> topJobs(long[] candidateSkills, int k) {
+        TopK top = new TopK(k);
+        long now = System.currentTimeMillis();
+
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < nextSlot; slot++) {
+                if (jobIds[slot] == null || deadlines[slot] <= now) continue;
+                int[] jobWordIndexes = wordIndexes[slot];
+                long[] jobWords = words[slot];
+                int shared = 0;
+                for (int i = 0; i < jobWordIndexes.length; i++) {
+                    int word = jobWordIndexes[i];
+                    if (word < candidateSkills.length) shared += Long.bitCount(candidateSkills[word] & jobWords[i]);
+                }
+                if (shared == 0) continue;
+                // Coverage first; the tiny overlap term breaks ties in favour of more shared skills.
+                top.offer(slot, (float) shared / skillCounts[slot] + shared * 1e-4f);
+            }
+
+            int[] slots = new int[top.size()];
+            float[] scores = new float[top.size()];
+            int count = top.drainDescending(slots, scores);
+            List<ScoredJob> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int slot = slots[i];
+                SkillDictionary.SkillVector vector = new SkillDictionary.SkillVector(wordIndexes[slot], words[slot], skillCounts[slot]);
+                int matched = vector.overlap(candidateSkills);
+                result.add(new ScoredJob(jobIds[slot], matched, skillCounts[slot], (float) matched / skillCounts[slot]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<String> jobIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(slotByJobId.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByJobId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(String jobId) {
+        Integer slot = slotByJobId.remove(jobId);
+        if (slot == null) return;
+        jobIds[slot] = null;
+        wordIndexes[slot] = null;
+        words[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount << 1);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (nextSlot == jobIds.length) {
+            int capacity = jobIds.length << 1;
+            jobIds = Arrays.copyOf(jobIds, capacity);
+            wordIndexes = Arrays.copyOf(wordIndexes, capacity);
+            words = Arrays.copyOf(words, capacity);
+            skillCounts = Arrays.copyOf(skillCounts, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+        }
+        return nextSlot++;
+    }
+}
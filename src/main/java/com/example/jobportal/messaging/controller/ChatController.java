@@ -2,27 +2,30 @@ package com.example.jobportal.messaging.controller;
 
 import com.example.jobportal.messaging.entity.Message;
 import com.example.jobportal.messaging.payload.MessageReq;
+import com.example.jobportal.messaging.service.ChatBroker;
 import com.example.jobportal.messaging.service.ConversationService;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.stereotype.Controller;
 
 @Controller
 public class ChatController {
 
     private final ConversationService conversationService;
+    private final ChatBroker chatBroker;
 
-    public ChatController(ConversationService conversationService) {
+    public ChatController(ConversationService conversationService, ChatBroker chatBroker) {
         this.conversationService = conversationService;
+        this.chatBroker = chatBroker;
     }
 
+    // Published through the broker rather than @SendTo so subscribers on other nodes get it too.
     @MessageMapping("/send-message/{conversationId}")
-    @SendTo("/topic/conversation/{conversationId}")
-    public Message sendMessage(
+    public void sendMessage(
             @DestinationVariable String conversationId,
             MessageReq messageReq) {
 
-        return conversationService.addMessageAndSave(conversationId, messageReq);
+        Message message = conversationService.addMessageAndSave(conversationId, messageReq);
+        chatBroker.publish("/topic/conversation/" + conversationId, message);
     }
 }
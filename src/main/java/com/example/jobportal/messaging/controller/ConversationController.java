@@ -2,7 +2,10 @@ package com.example.jobportal.messaging.controller;
 
 import com.example.jobportal.auth.service.JobPortalUserPrincipal;
 import com.example.jobportal.messaging.entity.Conversation;
-import com.example.jobportal.messaging.entity.Message;
+import com.example.jobportal.messaging.payload.ConversationInboxResponse;
+import com.example.jobportal.messaging.payload.MessagePage;
+import com.example.jobportal.messaging.payload.ReadReceipt;
+import com.example.jobportal.messaging.service.ChatBroker;
 import com.example.jobportal.messaging.service.ConversationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,9 +18,11 @@ import java.util.List;
 public class ConversationController {
 
     private final ConversationService conversationService;
+    private final ChatBroker chatBroker;
 
-    public ConversationController(ConversationService conversationService) {
+    public ConversationController(ConversationService conversationService, ChatBroker chatBroker) {
         this.conversationService = conversationService;
+        this.chatBroker = chatBroker;
     }
 
     @GetMapping("/my")
@@ -27,14 +32,48 @@ public class ConversationController {
         return ResponseEntity.ok().body(conversation);
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<ConversationInboxResponse> getInbox(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
+        if (principal == null) throw new IllegalArgumentException("User is not authenticated");
+
+        ConversationInboxResponse inbox = conversationService.getInbox(principal, cursor, size);
+        return ResponseEntity.ok().body(inbox);
+    }
+
     @GetMapping("/{id}/getMessages")
-    public ResponseEntity<List<Message>> getMessages(
+    public ResponseEntity<MessagePage> getMessages(
             @AuthenticationPrincipal JobPortalUserPrincipal principal,
             @PathVariable String id,
-            @RequestParam(value = "page", defaultValue = "0", required = false) int page,
+            @RequestParam(value = "before", required = false) Long before,
             @RequestParam(value = "size", defaultValue = "20", required = false) int size) {
 
-        List<Message> paginatedMessage = conversationService.getMessages(principal, id, page, size);
-        return ResponseEntity.ok().body(paginatedMessage);
+        MessagePage messagePage = conversationService.getMessages(principal, id, before, size);
+        return ResponseEntity.ok().body(messagePage);
+    }
+
+    @GetMapping("/{id}/messages/since")
+    public ResponseEntity<MessagePage> getMessagesSince(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @PathVariable String id,
+            @RequestParam(value = "after") long after,
+            @RequestParam(value = "size", defaultValue = "100", required = false) int size) {
+
+        MessagePage messagePage = conversationService.getMessagesSince(principal, id, after, size);
+        return ResponseEntity.ok().body(messagePage);
+    }
+
+    @PostMapping("/{id}/read")
+    public ResponseEntity<ReadReceipt> markRead(
+            @AuthenticationPrincipal JobPortalUserPrincipal principal,
+            @PathVariable String id,
+            @RequestParam(value = "seq") long seq) {
+        if (principal == null) throw new IllegalArgumentException("User is not authenticated");
+
+        ReadReceipt readReceipt = conversationService.markRead(id, principal.getUserId(), seq);
+        chatBroker.publish("/topic/conversation/" + id + "/read", readReceipt);
+        return ResponseEntity.ok().body(readReceipt);
     }
 }
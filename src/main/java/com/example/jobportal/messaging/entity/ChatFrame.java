@@ -0,0 +1,34 @@
+package com.example.jobportal.messaging.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A STOMP frame relayed between nodes by {@code MongoChatBroker}. Only the nodes listed in
+ * {@code nodeIds} deliver it; frames are dropped by the TTL index shortly after.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "chat_frames")
+public class ChatFrame {
+    @Id
+    private String id;
+    private String destination;
+    // Body as converted on the publishing node, sent to subscribers as is
+    private String payload;
+    private String contentType;
+    private String originNodeId;
+    private List<String> nodeIds;
+    @Indexed(expireAfter = "60s")
+    private Date createdDate;
+}
@@ -0,0 +1,34 @@
+package com.example.jobportal.messaging.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Says that a node has local subscribers for a destination. Nodes refresh their rows on a
+ * heartbeat, so the rows of a node that went away expire on their own.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "chat_subscriptions")
+public class ChatSubscription {
+    @Id
+    private String id;
+    private String nodeId;
+    @Indexed
+    private String destination;
+    @Indexed(expireAfter = "120s")
+    private Date refreshedDate;
+
+    public static String idOf(String nodeId, String destination) {
+        return nodeId + "|" + destination;
+    }
+}
@@ -5,9 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Data
@@ -15,6 +18,10 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Document(collection = "conversations")
+@CompoundIndexes({
+        @CompoundIndex(name = "employer_inbox_idx", def = "{'employerId': 1, 'lastMessageAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "applicant_inbox_idx", def = "{'applicantId': 1, 'lastMessageAt': -1, '_id': -1}")
+})
 public class Conversation {
     @Id
     private String id;
@@ -24,7 +31,24 @@ public class Conversation {
     private String applicantId;
     private String applicantName;
 
+    // One conversation per application; makes conversation creation safe to replay.
+    @Indexed(unique = true, sparse = true)
     private String applicationId;
-    private List<Message> messages = new ArrayList<>();
+    // Number of messages sent so far; also the seq of the latest message.
+    private long messageCount;
+    // Inbox preview of the latest message, kept up to date by MessageStore on every send.
+    private String lastMessagePreview;
+    private String lastMessageSenderId;
+    private Date lastMessageAt;
+    // Seq of the latest message each side has read; unread = messageCount - lastReadSeq.
+    private long applicantLastReadSeq;
+    private long employerLastReadSeq;
+    // Legacy embedded history, moved into message_buckets by MessageStore.
+    private List<Message> messages;
     private boolean isActive;
+
+    public long unreadFor(String userId) {
+        long lastReadSeq = userId.equals(employerId) ? employerLastReadSeq : applicantLastReadSeq;
+        return Math.max(0, messageCount - lastReadSeq);
+    }
 }
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 public class Message {
+    // Position in the conversation, starting at 1
+    private long seq;
     private String senderId;
     private String content;
     private LocalDateTime timestamp;
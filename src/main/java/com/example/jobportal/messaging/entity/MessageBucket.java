@@ -0,0 +1,40 @@
+package com.example.jobportal.messaging.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * A fixed-size slice of a conversation's messages. Message {@code seq} n (1-based) lives in bucket
+ * {@code (n - 1) / BUCKET_SIZE}; the id is {@code conversationId:bucket}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "message_buckets")
+@CompoundIndex(name = "conversation_bucket_idx", def = "{'conversationId': 1, 'bucket': -1}")
+public class MessageBucket {
+    public static final int BUCKET_SIZE = 100;
+
+    @Id
+    private String id;
+    private String conversationId;
+    private long bucket;
+    private int count;
+    private List<Message> messages;
+
+    public static long bucketOf(long seq) {
+        return (seq - 1) / BUCKET_SIZE;
+    }
+
+    public static String idOf(String conversationId, long bucket) {
+        return conversationId + ":" + bucket;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.jobportal.messaging.payload;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ConversationInboxResponse {
+    private List<ConversationSummary> conversations;
+    private String nextCursor;
+}
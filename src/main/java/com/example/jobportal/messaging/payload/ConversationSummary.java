@@ -0,0 +1,44 @@
+package com.example.jobportal.messaging.payload;
+
+import com.example.jobportal.messaging.entity.Conversation;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Inbox row for one conversation, seen from one participant's side.
+ */
+@Data
+@Builder
+public class ConversationSummary {
+    private String id;
+    private String applicationId;
+    private String counterpartId;
+    private String counterpartName;
+    private String lastMessagePreview;
+    private String lastMessageSenderId;
+    private Date lastMessageAt;
+    private long messageCount;
+    private long unreadCount;
+    // How far the other side has read, for "seen" markers.
+    private long counterpartLastReadSeq;
+    private boolean isActive;
+
+    public static ConversationSummary from(Conversation conversation, String userId) {
+        boolean employer = userId.equals(conversation.getEmployerId());
+        return ConversationSummary.builder()
+                .id(conversation.getId())
+                .applicationId(conversation.getApplicationId())
+                .counterpartId(employer ? conversation.getApplicantId() : conversation.getEmployerId())
+                .counterpartName(employer ? conversation.getApplicantName() : conversation.getEmployerName())
+                .lastMessagePreview(conversation.getLastMessagePreview())
+                .lastMessageSenderId(conversation.getLastMessageSenderId())
+                .lastMessageAt(conversation.getLastMessageAt())
+                .messageCount(conversation.getMessageCount())
+                .unreadCount(conversation.unreadFor(userId))
+                .counterpartLastReadSeq(employer ? conversation.getApplicantLastReadSeq() : conversation.getEmployerLastReadSeq())
+                .isActive(conversation.isActive())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.jobportal.messaging.payload;
+
+import com.example.jobportal.messaging.entity.Message;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One window of a conversation's history, oldest message first. When paging backwards, pass
+ * {@code nextBefore} back as {@code before} for the window just older than this one; when catching
+ * up, pass {@code nextAfter} back as {@code after} for the newer one. {@code hasMore} says whether
+ * there is anything further in the direction being paged.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MessagePage {
+    private List<Message> messages;
+    private Long nextBefore;
+    private Long nextAfter;
+    private boolean hasMore;
+}
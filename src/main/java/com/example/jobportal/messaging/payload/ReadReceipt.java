@@ -0,0 +1,16 @@
+package com.example.jobportal.messaging.payload;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * A participant's read marker after it moved, broadcast so the other side can show "seen".
+ */
+@Data
+@Builder
+public class ReadReceipt {
+    private String conversationId;
+    private String userId;
+    private long lastReadSeq;
+    private long unreadCount;
+}
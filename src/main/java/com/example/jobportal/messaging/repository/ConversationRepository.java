@@ -2,10 +2,11 @@ package com.example.jobportal.messaging.repository;
 
 import com.example.jobportal.messaging.entity.Conversation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 
-public interface ConversationRepository extends MongoRepository<Conversation, String> {
+public interface ConversationRepository extends MongoRepository<Conversation, String>, ConversationRepositoryCustom {
     Conversation getConversationById(String id);
 
     Conversation getConversationByEmployerIdOrApplicantId(String employerId, String applicantId);
@@ -13,4 +14,10 @@ public interface ConversationRepository extends MongoRepository<Conversation, St
     Conversation getConversationsByEmployerIdOrApplicantId(String employerId, String applicantId);
 
     List<Conversation> getAllByEmployerIdOrApplicantId(String employerId, String applicantId);
+
+    @Query(value = "{ '$or': [ { 'employerId': ?0 }, { 'applicantId': ?0 } ] }", fields = "{ 'messages': 0 }")
+    List<Conversation> findAllByParticipantWithoutMessages(String userId);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'messages': 0 }")
+    Conversation findConversationWithoutMessages(String id);
 }
@@ -0,0 +1,15 @@
+package com.example.jobportal.messaging.repository;
+
+import com.example.jobportal.messaging.entity.Conversation;
+import com.example.jobportal.util.KeysetCursor;
+
+import java.util.List;
+
+public interface ConversationRepositoryCustom {
+
+    /**
+     * One page of {@code userId}'s conversations, most recently active first, without message
+     * history. Pass the (lastMessageAt, id) of the last row seen as {@code after} for the next page.
+     */
+    List<Conversation> findInboxPage(String userId, KeysetCursor after, int limit);
+}
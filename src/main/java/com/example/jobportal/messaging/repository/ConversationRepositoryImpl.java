@@ -0,0 +1,42 @@
+package com.example.jobportal.messaging.repository;
+
+import com.example.jobportal.messaging.entity.Conversation;
+import com.example.jobportal.util.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+public class ConversationRepositoryImpl implements ConversationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ConversationRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Conversation> findInboxPage(String userId, KeysetCursor after, int limit) {
+        // Each branch of the $or is served in sort order by its own inbox index and merged.
+        Criteria participant = new Criteria().orOperator(
+                Criteria.where("employerId").is(userId),
+                Criteria.where("applicantId").is(userId)
+        );
+        Criteria criteria = participant;
+        if (after != null) {
+            criteria = new Criteria().andOperator(participant, new Criteria().orOperator(
+                    Criteria.where("lastMessageAt").lt(after.date()),
+                    Criteria.where("lastMessageAt").is(after.date()).and("id").lt(after.id())
+            ));
+        }
+
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "lastMessageAt", "id"))
+                .limit(limit);
+        query.fields().include("employerId", "employerName", "applicantId", "applicantName", "applicationId", "messageCount",
+                "lastMessagePreview", "lastMessageSenderId", "lastMessageAt", "applicantLastReadSeq", "employerLastReadSeq", "isActive");
+        return mongoTemplate.find(query, Conversation.class);
+    }
+}
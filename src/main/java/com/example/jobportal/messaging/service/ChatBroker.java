@@ -0,0 +1,11 @@
+package com.example.jobportal.messaging.service;
+
+/**
+ * Publishes frames to STOMP {@code /topic} subscribers on every node, not only the one the
+ * publisher runs on. Picked with {@code chat.broker}: {@code in-process} (the default, single
+ * node) or {@code mongo}.
+ */
+public interface ChatBroker {
+
+    void publish(String destination, Object payload);
+}
@@ -0,0 +1,95 @@
+package com.example.jobportal.messaging.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps track of which {@code /topic} destinations have subscribers on this node, from the STOMP
+ * session events, and tells listeners when a destination gains its first or loses its last one.
+ */
+@Component
+public class ChatSubscriptionRegistry {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    /**
+     * Notified outside of any lock; calls for one destination can arrive out of order under races.
+     */
+    public interface Listener {
+        void destinationAdded(String destination);
+
+        void destinationRemoved(String destination);
+    }
+
+    // sessionId -> (subscriptionId -> destination)
+    private final Map<String, Map<String, String>> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean hasLocalSubscribers(String destination) {
+        return subscriberCounts.containsKey(destination);
+    }
+
+    public Set<String> localDestinations() {
+        return Set.copyOf(subscriberCounts.keySet());
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = headers.getDestination();
+        if (headers.getSessionId() == null || headers.getSubscriptionId() == null
+                || destination == null || !destination.startsWith(TOPIC_PREFIX)) return;
+
+        String previous = sessions.computeIfAbsent(headers.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(headers.getSubscriptionId(), destination);
+        if (previous != null) removed(previous);
+        added(destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor headers = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = headers.getSessionId() != null ? sessions.get(headers.getSessionId()) : null;
+        if (subscriptions == null || headers.getSubscriptionId() == null) return;
+
+        String destination = subscriptions.remove(headers.getSubscriptionId());
+        if (destination != null) removed(destination);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions == null) return;
+        subscriptions.values().forEach(this::removed);
+    }
+
+    private void added(String destination) {
+        Integer count = subscriberCounts.merge(destination, 1, Integer::sum);
+        if (count == 1) listeners.forEach(listener -> listener.destinationAdded(destination));
+    }
+
+    private void removed(String destination) {
+        boolean[] last = {false};
+        subscriberCounts.computeIfPresent(destination, (d, current) -> {
+            if (current > 1) return current - 1;
+            last[0] = true;
+            return null;
+        });
+        if (last[0]) listeners.forEach(listener -> listener.destinationRemoved(destination));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.jobportal.messaging.service;
+
+import com.example.jobportal.application.entity.OutboxEvent;
+import com.example.jobportal.application.enums.OutboxEventType;
+import com.example.jobportal.application.service.OutboxEventHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Opens the applicant/employer conversation for submitted applications.
+ */
+@Component
+public class ConversationOutboxHandler implements OutboxEventHandler {
+
+    private final ConversationService conversationService;
+
+    public ConversationOutboxHandler(ConversationService conversationService) {
+        this.conversationService = conversationService;
+    }
+
+    @Override
+    public OutboxEventType type() {
+        return OutboxEventType.CREATE_CONVERSATION;
+    }
+
+    @Override
+    public void handle(List<Delivery> deliveries) {
+        conversationService.createConversations(deliveries.stream()
+                .map(delivery -> new ConversationService.NewConversation(delivery.application(),
+                        delivery.event().getData() != null ? delivery.event().getData().get(OutboxEvent.APPLICANT_NAME) : null))
+                .toList());
+    }
+}
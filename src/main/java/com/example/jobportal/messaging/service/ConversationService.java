@@ -6,51 +6,105 @@ import com.example.jobportal.company.entity.Company;
 import com.example.jobportal.company.repository.CompanyRepository;
 import com.example.jobportal.messaging.entity.Conversation;
 import com.example.jobportal.messaging.entity.Message;
+import com.example.jobportal.messaging.payload.ConversationInboxResponse;
+import com.example.jobportal.messaging.payload.ConversationSummary;
+import com.example.jobportal.messaging.payload.MessagePage;
 import com.example.jobportal.messaging.payload.MessageReq;
+import com.example.jobportal.messaging.payload.ReadReceipt;
 import com.example.jobportal.messaging.repository.ConversationRepository;
+import com.example.jobportal.user.entity.Profile;
 import com.example.jobportal.user.entity.User;
 import com.example.jobportal.user.repository.ProfileRepository;
+import com.example.jobportal.util.KeysetCursor;
+import com.example.jobportal.util.MongoBulkInserts;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ConversationService {
 
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+    private static final int MAX_INBOX_PAGE_SIZE = 50;
+    // How long a missing seq is waited on before catch-up reads skip it
+    private static final long MESSAGE_GAP_GRACE_MS = 10_000;
+
     private final ConversationRepository conversationRepository;
     private final CompanyRepository companyRepository;
     private final ProfileRepository profileRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MessageStore messageStore;
 
-    public ConversationService(ConversationRepository conversationRepository, CompanyRepository companyRepository, ProfileRepository profileRepository) {
+    public ConversationService(ConversationRepository conversationRepository, CompanyRepository companyRepository, ProfileRepository profileRepository,
+                               MongoTemplate mongoTemplate, MessageStore messageStore) {
         this.conversationRepository = conversationRepository;
         this.companyRepository = companyRepository;
         this.profileRepository = profileRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.messageStore = messageStore;
     }
 
-    @Transactional
-    public void createConversation(JobPortalUserPrincipal principal, Application application) {
-        String applicantId = principal.getUserId();
-        String applicantName = principal.getName();
+    /**
+     * The employer side of a conversation about a job of a company.
+     */
+    public record EmployerContact(String employerId, String employerName) {
+    }
 
-        String companyId = application.getCompanyId();
-        Company company = companyRepository.getCompanyById(companyId);
-        String employerId = company.getUserId();
-        String employerName = profileRepository.getProfileByUserId(employerId).getFirstName();
+    /**
+     * An application that needs a conversation, with the applicant's display name.
+     */
+    public record NewConversation(Application application, String applicantName) {
+    }
 
-        Conversation conversation = Conversation.builder()
-                .applicantId(applicantId)
-                .applicantName(applicantName)
-                .employerId(employerId)
-                .employerName(employerName)
-                .applicationId(application.getId())
-                .messages(new ArrayList<>())
-                .isActive(true)
-                .build();
+    private record ConversationDraft(Conversation conversation, List<Message> initialMessages) {
+    }
+
+    /**
+     * Opens conversations for a batch of applications with one company read, one profile read
+     * and one insert. The conversation id is the application id, and the first messages are
+     * bucketed before the conversation is inserted, so a replayed batch neither duplicates nor
+     * loses anything. Returns how many conversations were created.
+     */
+    public int createConversations(List<NewConversation> newConversations) {
+        Set<String> companyIds = newConversations.stream().map(c -> c.application().getCompanyId()).collect(Collectors.toSet());
+        Map<String, Company> companies = companyRepository.findAllById(companyIds).stream()
+                .collect(Collectors.toMap(Company::getId, Function.identity()));
+        Set<String> employerIds = companies.values().stream().map(Company::getUserId).collect(Collectors.toSet());
+        Map<String, String> employerNames = profileRepository.findAllByUserIdIn(employerIds).stream()
+                .collect(Collectors.toMap(Profile::getUserId, profile -> String.valueOf(profile.getFirstName()), (a, b) -> a));
+
+        List<Conversation> conversations = new ArrayList<>();
+        List<List<Message>> initialMessages = new ArrayList<>();
+        for (NewConversation newConversation : newConversations) {
+            Application application = newConversation.application();
+            Company company = companies.get(application.getCompanyId());
+            if (company == null || !employerNames.containsKey(company.getUserId())) {
+                log.warn("Skipping conversation for application {}: employer of company {} not found", application.getId(), application.getCompanyId());
+                continue;
+            }
+            EmployerContact employer = new EmployerContact(company.getUserId(), employerNames.get(company.getUserId()));
+            ConversationDraft draft = buildConversation(application, newConversation.applicantName(), employer);
+            conversations.add(draft.conversation());
+            initialMessages.add(draft.initialMessages());
+        }
+        messageStore.seed(conversations, initialMessages);
+        return MongoBulkInserts.insertIgnoringDuplicates(mongoTemplate, Conversation.class, conversations);
+    }
+
+    private ConversationDraft buildConversation(Application application, String applicantName, EmployerContact employer) {
+        String applicantId = application.getUserId();
+        Date now = new Date(System.currentTimeMillis());
 
         Message message = Message.builder()
                 .content("Job Title : " +application.getJobTitle())
@@ -64,49 +118,164 @@ public class ConversationService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        conversation.getMessages().add(message);
-        conversation.getMessages().add(message2);
-
-        conversationRepository.save(conversation);
+        Conversation conversation = Conversation.builder()
+                .id(application.getId())
+                .applicantId(applicantId)
+                .applicantName(applicantName)
+                .employerId(employer.employerId())
+                .employerName(employer.employerName())
+                .applicationId(application.getId())
+                .messageCount(2)
+                .lastMessagePreview(MessageStore.preview(message2.getContent()))
+                .lastMessageSenderId(applicantId)
+                .lastMessageAt(now)
+                .applicantLastReadSeq(2)
+                .isActive(true)
+                .build();
+        return new ConversationDraft(conversation, List.of(message, message2));
     }
 
     public List<Conversation> getConversation(JobPortalUserPrincipal principal) {
         String userInvolved = principal.getUserId();
-        List<Conversation> conversation = conversationRepository.getAllByEmployerIdOrApplicantId(userInvolved, userInvolved);
+        List<Conversation> conversation = conversationRepository.findAllByParticipantWithoutMessages(userInvolved);
         if (conversation == null) throw new IllegalArgumentException("Conversation does not exist");
-        for (Conversation conversation1 : conversation) {
-            conversation1.getMessages().clear();
-        }
-
         return conversation;
     }
 
-    public List<Message> getMessages(JobPortalUserPrincipal principal, String conversationId, int page, int size) {
-        Conversation conversation = conversationRepository.getConversationById(conversationId);
-        if (conversation == null) throw new IllegalArgumentException("Conversation with id " + conversationId + " does not exist");
+    /**
+     * One page of the caller's conversations, most recently active first, with the last-message
+     * preview and the caller's unread count. Message bodies are never read.
+     */
+    public ConversationInboxResponse getInbox(JobPortalUserPrincipal principal, String cursor, int size) {
+        if (size <= 0 || size > MAX_INBOX_PAGE_SIZE) throw new IllegalArgumentException("Page size must be between 1 and " + MAX_INBOX_PAGE_SIZE);
 
-        if (!conversation.getApplicantId().equals(principal.getUserId()) && !conversation.getEmployerId().equals(principal.getUserId())) {
-            throw new IllegalArgumentException("User is not permitted to view this conversation");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Conversation> conversations = conversationRepository.findInboxPage(principal.getUserId(), after, size + 1);
+
+        String nextCursor = null;
+        if (conversations.size() > size) {
+            conversations = conversations.subList(0, size);
+            Conversation last = conversations.get(size - 1);
+            nextCursor = KeysetCursor.of(last.getLastMessageAt(), last.getId()).encode();
         }
 
-        List<Message> message =  conversation.getMessages();
-//        int start = Math.max(0, message.size() * (page - 1) * size);
-//        int end = Math.min(message.size(), start + size);
-//
-//        return message.subList(start, end);
-        return message;
+        return ConversationInboxResponse.builder()
+                .conversations(conversations.stream().map(conversation -> ConversationSummary.from(conversation, principal.getUserId())).toList())
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public Message addMessageAndSave(String conversationId, MessageReq messageReq) {
+    /**
+     * The {@code size} messages just before seq {@code before}, or the latest ones when
+     * {@code before} is {@code null}. Only the buckets covering that window are read.
+     */
+    public MessagePage getMessages(JobPortalUserPrincipal principal, String conversationId, Long before, int size) {
+        if (before != null && before < 1) throw new IllegalArgumentException("before must be a positive message sequence number");
+        size = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        long latest = latestSeqVisibleTo(principal, conversationId);
+
+        long toSeq = Math.min(before != null ? before - 1 : latest, latest);
+        long fromSeq = Math.max(1, toSeq - size + 1);
+        List<Message> messages = messageStore.findRange(conversationId, fromSeq, toSeq);
+        boolean hasMore = fromSeq > 1;
+        return MessagePage.builder()
+                .messages(messages)
+                .nextBefore(hasMore ? fromSeq : null)
+                .hasMore(hasMore)
+                .build();
+    }
 
-        Conversation conversation = conversationRepository.getConversationById(conversationId);
+    /**
+     * Up to {@code size} messages after seq {@code after}, for clients catching up after a
+     * reconnect. Reads only the buckets covering that window.
+     */
+    public MessagePage getMessagesSince(JobPortalUserPrincipal principal, String conversationId, long after, int size) {
+        if (after < 0) throw new IllegalArgumentException("after must not be negative");
+        size = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        Conversation conversation = visibleConversation(principal, conversationId);
+        long latest = conversation.getMessageCount();
+        long windowEnd = Math.min(latest, after + size);
 
+        // A seq is handed out a moment before its message is stored, so a gap is waited on: the
+        // page stops there and the next call picks the message up. A gap older than the grace
+        // period is a store that failed and will never be filled, so it is skipped.
+        long graceCutoff = System.currentTimeMillis() - MESSAGE_GAP_GRACE_MS;
+        List<Message> messages = messageStore.findRange(conversationId, after + 1, windowEnd);
+        List<Message> page = new ArrayList<>(messages.size());
+        long lastSeq = after;
+        boolean waiting = false;
+        for (Message message : messages) {
+            // The missing seqs were reserved before this message was created.
+            if (message.getSeq() != lastSeq + 1 && toMillis(message.getTimestamp()) > graceCutoff) {
+                waiting = true;
+                break;
+            }
+            page.add(message);
+            lastSeq = message.getSeq();
+        }
+        if (!waiting && lastSeq < windowEnd) {
+            // Missing seqs at the end of the window; the latest reservation bounds their age.
+            Date lastMessageAt = conversation.getLastMessageAt();
+            if (lastMessageAt != null && lastMessageAt.getTime() <= graceCutoff) lastSeq = windowEnd;
+        }
+        return MessagePage.builder()
+                .messages(page)
+                .nextAfter(lastSeq)
+                .hasMore(lastSeq < latest)
+                .build();
+    }
+
+    /**
+     * Moves {@code userId}'s read marker in the conversation up to {@code seq}.
+     */
+    public ReadReceipt markRead(String conversationId, String userId, long seq) {
+        if (userId == null || seq < 0) throw new IllegalArgumentException("A user id and a non-negative seq are required");
+        Conversation conversation = messageStore.markRead(conversationId, userId, seq);
         if (conversation == null) throw new IllegalArgumentException("Conversation not found");
 
-        Message message = new Message(messageReq.getSenderId(), messageReq.getContent());
-        conversation.getMessages().add(message);
-        conversationRepository.save(conversation);
+        return ReadReceipt.builder()
+                .conversationId(conversationId)
+                .userId(userId)
+                .lastReadSeq(userId.equals(conversation.getEmployerId()) ? conversation.getEmployerLastReadSeq() : conversation.getApplicantLastReadSeq())
+                .unreadCount(conversation.unreadFor(userId))
+                .build();
+    }
 
+    public Message addMessageAndSave(String conversationId, MessageReq messageReq) {
+        Message message = new Message(messageReq.getSenderId(), messageReq.getContent());
+        Conversation conversation = messageStore.append(conversationId, message);
+        if (conversation == null) throw new IllegalArgumentException("Conversation not found");
         return message;
     }
+
+    /**
+     * Checks that the caller takes part in the conversation and returns the seq of its latest
+     * message, moving legacy history into buckets first.
+     */
+    private long latestSeqVisibleTo(JobPortalUserPrincipal principal, String conversationId) {
+        return visibleConversation(principal, conversationId).getMessageCount();
+    }
+
+    /**
+     * The conversation without its legacy history, after checking that the caller takes part in
+     * it and moving legacy history into buckets.
+     */
+    private Conversation visibleConversation(JobPortalUserPrincipal principal, String conversationId) {
+        Conversation conversation = conversationRepository.findConversationWithoutMessages(conversationId);
+        if (conversation == null) throw new IllegalArgumentException("Conversation with id " + conversationId + " does not exist");
+        if (!conversation.getApplicantId().equals(principal.getUserId()) && !conversation.getEmployerId().equals(principal.getUserId())) {
+            throw new IllegalArgumentException("User is not permitted to view this conversation");
+        }
+
+        if (conversation.getMessageCount() == 0 && messageStore.migrateLegacyMessages(conversationId)) {
+            // Only legacy conversations have no count yet; the migration just set it.
+            Conversation migrated = conversationRepository.findConversationWithoutMessages(conversationId);
+            if (migrated != null) return migrated;
+        }
+        return conversation;
+    }
+
+    private static long toMillis(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
 }
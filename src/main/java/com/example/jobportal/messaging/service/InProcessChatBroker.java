@@ -0,0 +1,24 @@
+package com.example.jobportal.messaging.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands frames straight to this node's simple broker. Enough for a single instance and for tests.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker", havingValue = "in-process", matchIfMissing = true)
+public class InProcessChatBroker implements ChatBroker {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public InProcessChatBroker(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        messagingTemplate.convertAndSend(destination, payload);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.jobportal.messaging.service;
+
+import com.example.jobportal.messaging.entity.Conversation;
+import com.example.jobportal.messaging.entity.Message;
+import com.example.jobportal.messaging.entity.MessageBucket;
+import com.example.jobportal.util.MongoBulkInserts;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stores conversation messages in {@link MessageBucket}s.
+ * <p>
+ * Sending costs two single-document writes whatever the history length: an atomic pipeline
+ * update of the conversation hands out the message's seq and refreshes the inbox fields (preview,
+ * last activity, the sender's read marker) in the same write, and an upsert {@code $push}es the
+ * message into the bucket that seq belongs to.
+ * <p>
+ * Conversations created before bucketing keep their history in {@code Conversation.messages};
+ * {@link #migrateLegacyMessages(String)} moves it out, and sends wait for that so seqs never clash.
+ */
+@Slf4j
+@Component
+public class MessageStore {
+
+    public static final int PREVIEW_LENGTH = 140;
+
+    private final MongoTemplate mongoTemplate;
+
+    public MessageStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Appends {@code message} to the conversation if {@code senderId} takes part in it, assigning
+     * its seq. Returns the conversation before the append, or {@code null} if it does not exist
+     * or the sender is not a participant.
+     */
+    public Conversation append(String conversationId, Message message) {
+        Conversation conversation = reserveSeq(conversationId, message);
+        if (conversation == null && migrateLegacyMessages(conversationId)) {
+            conversation = reserveSeq(conversationId, message);
+        }
+        if (conversation == null) return null;
+
+        message.setSeq(conversation.getMessageCount() + 1);
+        long bucket = MessageBucket.bucketOf(message.getSeq());
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("id").is(MessageBucket.idOf(conversationId, bucket))),
+                new Update()
+                        .setOnInsert("conversationId", conversationId)
+                        .setOnInsert("bucket", bucket)
+                        .push("messages", message)
+                        .inc("count", 1),
+                MessageBucket.class);
+        return conversation;
+    }
+
+    /**
+     * Seeds a new conversation's first messages. Safe to repeat: the bucket id is deterministic and
+     * an existing bucket is left alone.
+     */
+    public void seed(List<Conversation> conversations, List<List<Message>> initialMessages) {
+        List<MessageBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < conversations.size(); i++) {
+            buckets.addAll(toBuckets(conversations.get(i).getId(), initialMessages.get(i)));
+        }
+        MongoBulkInserts.insertIgnoringDuplicates(mongoTemplate, MessageBucket.class, buckets);
+    }
+
+    /**
+     * Messages with {@code fromSeq <= seq <= toSeq} in seq order. Reads only the buckets that cover
+     * the range, through the conversation/bucket index.
+     */
+    public List<Message> findRange(String conversationId, long fromSeq, long toSeq) {
+        if (fromSeq > toSeq) return List.of();
+        Query query = Query.query(Criteria.where("conversationId").is(conversationId)
+                .and("bucket").gte(MessageBucket.bucketOf(fromSeq)).lte(MessageBucket.bucketOf(toSeq)));
+        List<Message> messages = new ArrayList<>();
+        for (MessageBucket bucket : mongoTemplate.find(query, MessageBucket.class)) {
+            if (bucket.getMessages() == null) continue;
+            // Concurrent pushes can land in a bucket out of order, hence the sort below.
+            for (Message message : bucket.getMessages()) {
+                if (message.getSeq() >= fromSeq && message.getSeq() <= toSeq) messages.add(message);
+            }
+        }
+        messages.sort(Comparator.comparingLong(Message::getSeq));
+        return messages;
+    }
+
+    /**
+     * Moves {@code userId}'s read marker up to {@code seq} (never back, never past the latest
+     * message). Returns the conversation's read markers after the update, or {@code null} if it
+     * does not exist or {@code userId} does not take part in it.
+     */
+    public Conversation markRead(String conversationId, String userId, long seq) {
+        Conversation conversation = advanceReadMarker(conversationId, userId, seq);
+        if (conversation == null && migrateLegacyMessages(conversationId)) {
+            conversation = advanceReadMarker(conversationId, userId, seq);
+        }
+        return conversation;
+    }
+
+    /**
+     * Fills in the inbox preview of a conversation that was created without one, from its latest
+     * stored message.
+     */
+    public void backfillLastMessage(String conversationId, long messageCount) {
+        List<Message> latest = findRange(conversationId, messageCount, messageCount);
+        if (latest.isEmpty()) return;
+        Message last = latest.get(0);
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(conversationId).and("lastMessageAt").exists(false)),
+                new Update().set("lastMessagePreview", preview(last.getContent()))
+                        .set("lastMessageSenderId", last.getSenderId())
+                        .set("lastMessageAt", toDate(last.getTimestamp())),
+                Conversation.class);
+    }
+
+    /**
+     * Shortened message text for the inbox.
+     */
+    public static String preview(String content) {
+        if (content == null) return null;
+        String text = content.strip();
+        if (text.codePointCount(0, text.length()) <= PREVIEW_LENGTH) return text;
+        return text.substring(0, text.offsetByCodePoints(0, PREVIEW_LENGTH)) + "…";
+    }
+
+    /**
+     * Moves a conversation's embedded legacy messages into buckets. Returns {@code true} if the
+     * conversation exists and no longer has an embedded history.
+     */
+    public boolean migrateLegacyMessages(String conversationId) {
+        Query legacy = Query.query(Criteria.where("id").is(conversationId).and("messages").exists(true));
+        legacy.fields().include("messages");
+        Conversation conversation = mongoTemplate.findOne(legacy, Conversation.class);
+        if (conversation == null) {
+            return mongoTemplate.exists(Query.query(Criteria.where("id").is(conversationId)), Conversation.class);
+        }
+
+        List<Message> messages = conversation.getMessages() != null ? conversation.getMessages() : List.of();
+        // Buckets first, so a crash before the unset below just repeats this step.
+        MongoBulkInserts.insertIgnoringDuplicates(mongoTemplate, MessageBucket.class, toBuckets(conversationId, messages));
+        // There is no read state for old history; treat it as read.
+        Update update = new Update().unset("messages").set("messageCount", messages.size())
+                .set("applicantLastReadSeq", messages.size()).set("employerLastReadSeq", messages.size());
+        if (!messages.isEmpty()) {
+            Message last = messages.get(messages.size() - 1);
+            update.set("lastMessagePreview", preview(last.getContent()))
+                    .set("lastMessageSenderId", last.getSenderId())
+                    .set("lastMessageAt", toDate(last.getTimestamp()));
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(conversationId).and("messages").exists(true)),
+                update,
+                Conversation.class);
+        log.debug("Moved {} messages of conversation {} into buckets", messages.size(), conversationId);
+        return true;
+    }
+
+    private Conversation advanceReadMarker(String conversationId, String userId, long seq) {
+        Query query = Query.query(Criteria.where("id").is(conversationId)
+                .and("messages").exists(false)
+                .orOperator(Criteria.where("applicantId").is(userId), Criteria.where("employerId").is(userId)));
+        query.fields().include("applicantId", "employerId", "messageCount", "applicantLastReadSeq", "employerLastReadSeq");
+
+        Document reader = new Document("$literal", userId);
+        Document readUpTo = new Document("$min", List.of(seq, new Document("$ifNull", List.of("$messageCount", 0L))));
+        Document set = new Document("applicantLastReadSeq", advanceIfParticipant("applicantId", reader, "applicantLastReadSeq", readUpTo))
+                .append("employerLastReadSeq", advanceIfParticipant("employerId", reader, "employerLastReadSeq", readUpTo));
+        return mongoTemplate.findAndModify(query, AggregationUpdate.from(List.of(context -> new Document("$set", set))),
+                FindAndModifyOptions.options().returnNew(true), Conversation.class);
+    }
+
+    /**
+     * Hands out the next seq and updates the inbox fields in one pipeline update: the preview and
+     * activity time are set, and the sender's read marker moves to the new message.
+     */
+    private Conversation reserveSeq(String conversationId, Message message) {
+        Query query = Query.query(Criteria.where("id").is(conversationId)
+                .and("messages").exists(false)
+                .orOperator(Criteria.where("applicantId").is(message.getSenderId()), Criteria.where("employerId").is(message.getSenderId())));
+        query.fields().exclude("messages");
+
+        Document sender = new Document("$literal", message.getSenderId());
+        Document set = new Document("messageCount", increment("messageCount"))
+                .append("lastMessagePreview", new Document("$literal", preview(message.getContent())))
+                .append("lastMessageSenderId", sender)
+                .append("lastMessageAt", new Date(System.currentTimeMillis()))
+                .append("applicantLastReadSeq", advanceIfParticipant("applicantId", sender, "applicantLastReadSeq", increment("messageCount")))
+                .append("employerLastReadSeq", advanceIfParticipant("employerId", sender, "employerLastReadSeq", increment("messageCount")));
+        AggregationUpdate update = AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Conversation.class);
+    }
+
+    private static Date toDate(LocalDateTime timestamp) {
+        return timestamp != null ? Date.from(timestamp.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
+    private static Document increment(String field) {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + field, 0L)), 1L));
+    }
+
+    /**
+     * {@code max(lastReadField, seq)} when {@code userId} is the participant in
+     * {@code participantField}, otherwise the field unchanged.
+     */
+    private static Document advanceIfParticipant(String participantField, Document userId, String lastReadField, Object seq) {
+        Document current = new Document("$ifNull", List.of("$" + lastReadField, 0L));
+        return new Document("$cond", List.of(
+                new Document("$eq", List.of("$" + participantField, userId)),
+                new Document("$max", List.of(current, seq)),
+                current));
+    }
+
+    /**
+     * Numbers {@code messages} from 1 and slices them into buckets.
+     */
+    private static List<MessageBucket> toBuckets(String conversationId, List<Message> messages) {
+        List<MessageBucket> buckets = new ArrayList<>();
+        for (int start = 0; start < messages.size(); start += MessageBucket.BUCKET_SIZE) {
+            List<Message> slice = new ArrayList<>(messages.subList(start, Math.min(messages.size(), start + MessageBucket.BUCKET_SIZE)));
+            for (int i = 0; i < slice.size(); i++) slice.get(i).setSeq(start + i + 1L);
+            long bucket = start / MessageBucket.BUCKET_SIZE;
+            buckets.add(MessageBucket.builder()
+                    .id(MessageBucket.idOf(conversationId, bucket))
+                    .conversationId(conversationId)
+                    .bucket(bucket)
+                    .count(slice.size())
+                    .messages(slice)
+                    .build());
+        }
+        return buckets;
+    }
+}
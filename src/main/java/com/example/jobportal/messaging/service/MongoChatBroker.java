@@ -0,0 +1,183 @@
+package com.example.jobportal.messaging.service;
+
+import com.example.jobportal.messaging.entity.ChatFrame;
+import com.example.jobportal.messaging.entity.ChatSubscription;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays frames between nodes through MongoDB (needs a replica set for change streams).
+ * <p>
+ * Every node records the destinations it has local subscribers for in {@code chat_subscriptions}.
+ * Publishing delivers locally and, if other nodes are subscribed to the destination, inserts one
+ * {@link ChatFrame} addressed to exactly those nodes. Each node watches {@code chat_frames} with a
+ * change stream filtered on its own id on the server side, so it never sees frames meant for
+ * others, and hands what arrives to its simple broker.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker", havingValue = "mongo")
+public class MongoChatBroker implements ChatBroker, ChatSubscriptionRegistry.Listener {
+
+    private final MongoTemplate mongoTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatSubscriptionRegistry subscriptionRegistry;
+    private final long presenceTtlMs;
+    private final String nodeId = new ObjectId().toHexString();
+    private final Thread watcher;
+    private volatile boolean running = true;
+
+    public MongoChatBroker(MongoTemplate mongoTemplate, SimpMessagingTemplate messagingTemplate,
+                           ChatSubscriptionRegistry subscriptionRegistry,
+                           @Value("${chat.broker.presence-ttl-ms:90000}") long presenceTtlMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.presenceTtlMs = presenceTtlMs;
+        subscriptionRegistry.addListener(this);
+        this.watcher = new Thread(this::watchLoop, "chat-broker-watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        if (subscriptionRegistry.hasLocalSubscribers(destination)) messagingTemplate.convertAndSend(destination, payload);
+
+        Query subscribed = Query.query(Criteria.where("destination").is(destination)
+                .and("nodeId").ne(nodeId)
+                .and("refreshedDate").gt(new Date(System.currentTimeMillis() - presenceTtlMs)));
+        List<String> nodeIds = mongoTemplate.findDistinct(subscribed, "nodeId", ChatSubscription.class, String.class);
+        if (nodeIds.isEmpty()) return;
+
+        // Same converter as local delivery, so every node sends the same bytes.
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null) {
+            log.error("No converter for a {} frame to {}; delivered locally only", payload.getClass().getSimpleName(), destination);
+            return;
+        }
+        Object body = converted.getPayload();
+        Object contentType = converted.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        mongoTemplate.insert(ChatFrame.builder()
+                .destination(destination)
+                .payload(body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString())
+                .contentType(contentType != null ? contentType.toString() : null)
+                .originNodeId(nodeId)
+                .nodeIds(nodeIds)
+                .createdDate(new Date(System.currentTimeMillis()))
+                .build());
+    }
+
+    @Override
+    public void destinationAdded(String destination) {
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(ChatSubscription.idOf(nodeId, destination))),
+                new Update().set("nodeId", nodeId).set("destination", destination).set("refreshedDate", new Date(System.currentTimeMillis())),
+                ChatSubscription.class);
+    }
+
+    @Override
+    public void destinationRemoved(String destination) {
+        mongoTemplate.remove(Query.query(Criteria.where("id").is(ChatSubscription.idOf(nodeId, destination))), ChatSubscription.class);
+    }
+
+    /**
+     * Keeps this node's subscription rows alive; rows of destinations it no longer has expire.
+     */
+    @Scheduled(fixedDelayString = "${chat.broker.heartbeat-ms:30000}")
+    public void refreshPresence() {
+        Set<String> destinations = subscriptionRegistry.localDestinations();
+        if (destinations.isEmpty()) return;
+
+        Date now = new Date(System.currentTimeMillis());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChatSubscription.class);
+        for (String destination : destinations) {
+            bulk.upsert(Query.query(Criteria.where("id").is(ChatSubscription.idOf(nodeId, destination))),
+                    new Update().set("nodeId", nodeId).set("destination", destination).set("refreshedDate", now));
+        }
+        bulk.execute();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        watcher.interrupt();
+        watcher.join(TimeUnit.SECONDS.toMillis(5));
+        mongoTemplate.remove(Query.query(Criteria.where("nodeId").is(nodeId)), ChatSubscription.class);
+    }
+
+    private void watchLoop() {
+        List<Bson> pipeline = List.of(Aggregates.match(Filters.and(
+                Filters.eq("operationType", "insert"),
+                Filters.eq("fullDocument.nodeIds", nodeId))));
+        BsonDocument resumeToken = null;
+
+        while (running) {
+            ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(ChatFrame.class))
+                    .watch(pipeline)
+                    .maxAwaitTime(1, TimeUnit.SECONDS);
+            if (resumeToken != null) changeStream = changeStream.resumeAfter(resumeToken);
+
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (cursor.getResumeToken() != null) resumeToken = cursor.getResumeToken();
+                    if (change != null && change.getFullDocument() != null) deliverLocally(change.getFullDocument());
+                }
+            } catch (MongoException e) {
+                if (!running) return;
+                log.warn("Chat frame change stream failed; reconnecting", e);
+                // A token from before the oplog window cannot be resumed; frames that old are stale anyway.
+                if (e.getCode() == 286) resumeToken = null;
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliverLocally(Document frame) {
+        String destination = frame.getString("destination");
+        String payload = frame.getString("payload");
+        if (destination == null || payload == null || !subscriptionRegistry.hasLocalSubscribers(destination)) return;
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        String contentType = frame.getString("contentType");
+        headers.setContentType(contentType != null ? MimeType.valueOf(contentType) : MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSend(destination, payload.getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.jobportal.migration;
+
+import com.example.jobportal.application.entity.Application;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops the old unique index on {@code application.jobId}, which allowed only one application per
+ * job. Uniqueness is now enforced per (userId, jobId) by {@code user_job_unique_idx}.
+ */
+@Slf4j
+@Component
+public class ApplicationIndexMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ApplicationIndexMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        IndexOperations indexOps = mongoTemplate.indexOps(Application.class);
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            boolean jobIdOnly = index.getIndexFields().size() == 1 && index.isIndexForFields(List.of("jobId"));
+            if (jobIdOnly && index.isUnique()) {
+                indexOps.dropIndex(index.getName());
+                log.info("Dropped unique index {} on application.jobId", index.getName());
+            }
+        }
+    }
+}
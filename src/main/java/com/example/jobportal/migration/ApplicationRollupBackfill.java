@@ -0,0 +1,103 @@
+package com.example.jobportal.migration;
+
+import com.example.jobportal.analytics.entity.ApplicationDailyRollup;
+import com.example.jobportal.analytics.service.RollupIncrements;
+import com.example.jobportal.application.entity.Application;
+import com.example.jobportal.application.entity.ApplicationActivity;
+import com.example.jobportal.application.enums.ApplicationStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds {@code application_daily_rollups} from {@code application} and
+ * {@code application_activity}. Enabled with {@code analytics.rollups.backfill=true}; run it on a
+ * single instance while status changes are paused, since live increments that land during the
+ * rebuild are counted again.
+ * <p>
+ * Applications are streamed in id order and folded in batches: one activity query per batch,
+ * one bulk {@code $inc} write per batch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "analytics.rollups.backfill", havingValue = "true")
+public class ApplicationRollupBackfill implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${analytics.rollups.backfill-batch-size:1000}")
+    private int batchSize;
+
+    public ApplicationRollupBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long removed = mongoTemplate.remove(new Query(), ApplicationDailyRollup.class).getDeletedCount();
+        log.info("Rollup backfill started; removed {} existing buckets", removed);
+
+        Query applications = new Query().with(Sort.by(Sort.Direction.ASC, "id"));
+        applications.fields().include("companyId", "jobId", "applicationDate");
+
+        long processed = 0;
+        List<Application> batch = new ArrayList<>(batchSize);
+        try (Stream<Application> stream = mongoTemplate.stream(applications, Application.class)) {
+            for (Application application : (Iterable<Application>) stream::iterator) {
+                batch.add(application);
+                if (batch.size() == batchSize) {
+                    fold(batch);
+                    processed += batch.size();
+                    batch.clear();
+                    log.info("Rollup backfill folded {} applications", processed);
+                }
+            }
+        }
+        fold(batch);
+        processed += batch.size();
+        log.info("Rollup backfill finished; folded {} applications", processed);
+    }
+
+    private void fold(List<Application> batch) {
+        if (batch.isEmpty()) return;
+        Map<String, List<ApplicationActivity>> historyByApplication = new HashMap<>();
+        Query activities = Query.query(Criteria.where("applicationId").in(batch.stream().map(Application::getId).toList()))
+                .with(Sort.by(Sort.Direction.ASC, "applicationId", "timestamp"));
+        activities.fields().include("applicationId", "status", "timestamp");
+        for (ApplicationActivity activity : mongoTemplate.find(activities, ApplicationActivity.class)) {
+            historyByApplication.computeIfAbsent(activity.getApplicationId(), id -> new ArrayList<>()).add(activity);
+        }
+
+        RollupIncrements increments = new RollupIncrements();
+        for (Application application : batch) {
+            Date appliedAt = application.getApplicationDate();
+            if (appliedAt == null) continue;
+            increments.applied(application.getCompanyId(), application.getJobId(), appliedAt);
+
+            ApplicationStatus status = ApplicationStatus.APPLIED;
+            Date enteredAt = appliedAt;
+            for (ApplicationActivity activity : historyByApplication.getOrDefault(application.getId(), List.of())) {
+                if (activity.getStatus() == null || activity.getStatus() == status || activity.getTimestamp() == null) continue;
+                increments.transition(application.getCompanyId(), application.getJobId(), status, enteredAt,
+                        activity.getStatus(), activity.getTimestamp(), appliedAt);
+                status = activity.getStatus();
+                enteredAt = activity.getTimestamp();
+            }
+        }
+        increments.flush(mongoTemplate);
+    }
+}
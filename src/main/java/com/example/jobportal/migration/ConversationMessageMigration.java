@@ -0,0 +1,60 @@
+package com.example.jobportal.migration;
+
+import com.example.jobportal.messaging.entity.Conversation;
+import com.example.jobportal.messaging.service.MessageStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Moves the embedded {@code Conversation.messages} arrays into {@code message_buckets}. Each
+ * conversation is migrated on its own and the step is repeatable, so an interrupted run simply
+ * continues on the next start; sends and reads migrate a conversation on demand in the meantime.
+ * Conversations that have buckets but predate the inbox preview get it filled in from their
+ * latest message.
+ */
+@Slf4j
+@Component
+public class ConversationMessageMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MessageStore messageStore;
+
+    public ConversationMessageMigration(MongoTemplate mongoTemplate, MessageStore messageStore) {
+        this.mongoTemplate = mongoTemplate;
+        this.messageStore = messageStore;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacy = Query.query(Criteria.where("messages").exists(true));
+        legacy.fields().include("id");
+
+        int migrated = 0;
+        try (Stream<Conversation> conversations = mongoTemplate.stream(legacy, Conversation.class)) {
+            for (Conversation conversation : (Iterable<Conversation>) conversations::iterator) {
+                messageStore.migrateLegacyMessages(conversation.getId());
+                migrated++;
+            }
+        }
+        if (migrated > 0) log.info("Moved the messages of {} conversations into message buckets", migrated);
+
+        Query withoutPreview = Query.query(Criteria.where("lastMessageAt").exists(false).and("messages").exists(false).and("messageCount").gt(0));
+        withoutPreview.fields().include("id", "messageCount");
+
+        int backfilled = 0;
+        try (Stream<Conversation> conversations = mongoTemplate.stream(withoutPreview, Conversation.class)) {
+            for (Conversation conversation : (Iterable<Conversation>) conversations::iterator) {
+                messageStore.backfillLastMessage(conversation.getId(), conversation.getMessageCount());
+                backfilled++;
+            }
+        }
+        if (backfilled > 0) log.info("Filled in the inbox preview of {} conversations", backfilled);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.jobportal.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Hierarchical timing wheel for key/deadline pairs.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of one tick each; every higher level has slots as wide as
+ * a full turn of the level below it. Deadlines are rounded up to the next tick so an entry never
+ * fires before its deadline. When the wheel reaches the start of a coarse slot, that slot's entries
+ * are re-inserted and fall into finer levels, so adding and expiring are O(1) per entry.
+ * <p>
+ * Not thread-safe; callers synchronize around it.
+ */
+public class HierarchicalTimingWheel {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long[] slotWidths;
+    private final List<List<Entry>>[] levels;
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, int levelCount, long startTime) {
+        if (tickMs <= 0 || wheelSize < 2 || levelCount < 1) throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.slotWidths = new long[levelCount];
+        this.levels = new List[levelCount];
+
+        long width = tickMs;
+        for (int level = 0; level < levelCount; level++) {
+            slotWidths[level] = width;
+            List<List<Entry>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) slots.add(new ArrayList<>());
+            levels[level] = slots;
+            width = Math.multiplyExact(width, wheelSize);
+        }
+        this.currentTime = startTime - Math.floorMod(startTime, tickMs);
+    }
+
+    /**
+     * Latest deadline (exclusive) the wheel can hold right now.
+     */
+    public long horizon() {
+        int top = levels.length - 1;
+        long width = slotWidths[top];
+        return currentTime - Math.floorMod(currentTime, width) + width * wheelSize;
+    }
+
+    public long currentTime() {
+        return currentTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules {@code key}. Returns {@code false} when the deadline is already due or lies
+     * beyond {@link #horizon()}; the caller decides what to do with it in that case.
+     */
+    public boolean add(String key, long deadline) {
+        long due = roundUp(deadline);
+        if (due <= currentTime) return false;
+        for (int level = 0; level < levels.length; level++) {
+            long width = slotWidths[level];
+            long windowStart = currentTime - Math.floorMod(currentTime, width);
+            if (due < windowStart + width * wheelSize) {
+                int slot = (int) Math.floorMod(due / width, (long) wheelSize);
+                levels[level].get(slot).add(new Entry(key, deadline, due));
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the wheel forward tick by tick up to {@code now}, handing every entry whose deadline
+     * has been reached to {@code expired}.
+     */
+    public void advance(long now, BiConsumer<String, Long> expired) {
+        while (currentTime + tickMs <= now) {
+            currentTime += tickMs;
+            for (int level = levels.length - 1; level >= 1; level--) {
+                long width = slotWidths[level];
+                if (currentTime % width != 0) continue;
+                List<Entry> slot = takeSlot(level, currentTime / width);
+                for (Entry entry : slot) {
+                    if (!add(entry.key(), entry.deadline())) expired.accept(entry.key(), entry.deadline());
+                }
+            }
+            for (Entry entry : takeSlot(0, currentTime / tickMs)) {
+                expired.accept(entry.key(), entry.deadline());
+            }
+        }
+    }
+
+    private List<Entry> takeSlot(int level, long slotNumber) {
+        List<List<Entry>> slots = levels[level];
+        int slot = (int) Math.floorMod(slotNumber, (long) wheelSize);
+        List<Entry> entries = slots.get(slot);
+        if (entries.isEmpty()) return List.of();
+        slots.set(slot, new ArrayList<>());
+        size -= entries.size();
+        return entries;
+    }
+
+    private long roundUp(long time) {
+        long remainder = Math.floorMod(time, tickMs);
+        return remainder == 0 ? time : time - remainder + tickMs;
+    }
+
+    private record Entry(String key, long deadline, long due) {
+    }
+}
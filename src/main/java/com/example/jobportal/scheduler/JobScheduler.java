@@ -2,31 +2,169 @@ package com.example.jobportal.scheduler;
 
 import com.example.jobportal.job.entity.JobPosting;
 import com.example.jobportal.job.repository.JobPostingRepository;
+import com.example.jobportal.job.service.JobSearchIndex;
+import com.example.jobportal.job.service.SkillMatchIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Deactivates job postings as their deadlines pass.
+ * <p>
+ * Upcoming deadlines (up to {@code jobs.expiry.horizon-ms} ahead) live in a hierarchical timing
+ * wheel that is advanced every tick; due postings are switched off with batched server-side
+ * updates. The wheel is refilled from an indexed deadline range query at startup and on every
+ * refill, which also sweeps anything that slipped through.
+ */
 @Slf4j
 @Component
 public class JobScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
     @Autowired
     private JobPostingRepository  jobPostingRepository;
 
-    @Scheduled(cron = "0 0 0 * * *")
-    public void scheduled() {
-        List<JobPosting> jobsActiveAndExpired = jobPostingRepository.getAllByActiveAndDeadlineAfter(true, new Date(System.currentTimeMillis()));
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SkillMatchIndex skillMatchIndex;
+
+    @Value("${jobs.expiry.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${jobs.expiry.horizon-ms:86400000}")
+    private long horizonMs;
 
-        if (jobsActiveAndExpired.isEmpty()) {
+    @Value("${jobs.expiry.batch-size:500}")
+    private int batchSize;
+
+    // Current deadline per scheduled job; wheel entries that no longer match are stale and ignored.
+    private final Map<String, Long> scheduledDeadlines = new ConcurrentHashMap<>();
+
+    private HierarchicalTimingWheel wheel;
+    private long loadedUntil;
+    // Jobs scheduled while a refill query is running; their refill result may be stale.
+    private Set<String> scheduledDuringRefill;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        long now = System.currentTimeMillis();
+        wheel = new HierarchicalTimingWheel(tickMs, WHEEL_SIZE, WHEEL_LEVELS, now);
+        loadedUntil = now;
+        refill();
+    }
+
+    /**
+     * Registers a new or changed deadline. Deadlines past the loaded horizon are picked up by the
+     * next refill instead.
+     */
+    public void schedule(JobPosting jobPosting) {
+        if (jobPosting.getId() == null) return;
+        if (!jobPosting.isActive() || jobPosting.getDeadline() == null) {
+            synchronized (this) {
+                if (scheduledDuringRefill != null) scheduledDuringRefill.add(jobPosting.getId());
+                scheduledDeadlines.remove(jobPosting.getId());
+            }
             return;
         }
-        jobsActiveAndExpired.forEach(jobPosting -> {
-            jobPosting.setActive(false);
-        });
+        long deadline = jobPosting.getDeadline().getTime();
+        synchronized (this) {
+            if (scheduledDuringRefill != null) scheduledDuringRefill.add(jobPosting.getId());
+            if (wheel == null || deadline > loadedUntil) {
+                scheduledDeadlines.remove(jobPosting.getId());
+                return;
+            }
+            scheduledDeadlines.put(jobPosting.getId(), deadline);
+            if (!wheel.add(jobPosting.getId(), deadline)) {
+                expire(List.of(jobPosting.getId()));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.expiry.tick-ms:1000}")
+    public void tick() {
+        List<String> due = new ArrayList<>();
+        synchronized (this) {
+            if (wheel == null) return;
+            wheel.advance(System.currentTimeMillis(), (jobId, deadline) -> {
+                if (scheduledDeadlines.remove(jobId, deadline)) due.add(jobId);
+            });
+        }
+        expire(due);
+    }
+
+    /**
+     * Loads the next slice of deadlines into the wheel and sweeps postings that are past their
+     * deadline but still active (e.g. written while this node was down).
+     */
+    @Scheduled(initialDelayString = "${jobs.expiry.refill-interval-ms:3600000}", fixedDelayString = "${jobs.expiry.refill-interval-ms:3600000}")
+    public void refill() {
+        long now = System.currentTimeMillis();
+        long swept = jobPostingRepository.deactivateExpired(new Date(now));
+        if (swept > 0) log.info("Deactivated {} job postings past their deadline", swept);
+
+        long until;
+        long from;
+        synchronized (this) {
+            if (wheel == null) return;
+            from = Math.max(loadedUntil, now);
+            until = Math.min(now + horizonMs, wheel.horizon() - 1);
+            if (until <= from) return;
+            // Claim the new horizon before querying so schedule() takes deadlines up to it meanwhile.
+            loadedUntil = until;
+            scheduledDuringRefill = new HashSet<>();
+        }
+
+        List<JobPosting> upcoming;
+        try {
+            upcoming = jobPostingRepository.findUpcomingDeadlines(new Date(from), new Date(until));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loadedUntil = from;
+                scheduledDuringRefill = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (JobPosting jobPosting : upcoming) {
+                // A posting scheduled during the query already has its current deadline (or none).
+                if (scheduledDuringRefill.contains(jobPosting.getId())) continue;
+                long deadline = jobPosting.getDeadline().getTime();
+                scheduledDeadlines.put(jobPosting.getId(), deadline);
+                wheel.add(jobPosting.getId(), deadline);
+            }
+            scheduledDuringRefill = null;
+        }
+        log.debug("Scheduled {} job deadlines up to {}", upcoming.size(), new Date(until));
+    }
 
-        jobPostingRepository.saveAll(jobsActiveAndExpired);
+    private void expire(List<String> jobIds) {
+        if (jobIds.isEmpty()) return;
+        Date now = new Date();
+        for (int from = 0; from < jobIds.size(); from += batchSize) {
+            List<String> batch = jobIds.subList(from, Math.min(from + batchSize, jobIds.size()));
+            try {
+                jobPostingRepository.deactivateExpired(batch, now);
+            } catch (RuntimeException e) {
+                // The next refill sweep will retry these.
+                log.error("Failed to deactivate {} expired job postings", batch.size(), e);
+            }
+        }
+        jobSearchIndex.removeAll(jobIds);
+        skillMatchIndex.removeAll(jobIds);
     }
 }
@@ -28,4 +28,9 @@ public class User {
     private Role role;
     private boolean isActive;
     private Date creationDate;
+    // Tokens carry the version they were issued under; bumping it revokes every older token.
+    private long tokenVersion;
+    private boolean deactivated;
+    @Indexed(sparse = true)
+    private Date tokenVersionChangedDate;
 }
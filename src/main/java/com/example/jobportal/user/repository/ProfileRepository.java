@@ -4,6 +4,9 @@ import com.example.jobportal.user.entity.Profile;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProfileRepository extends MongoRepository<Profile, String> {
     Profile getProfileByEmail(String email);
@@ -11,4 +14,6 @@ public interface ProfileRepository extends MongoRepository<Profile, String> {
     Profile getProfileByUserId(String userId);
 
     Profile getProfileById(String id);
+
+    List<Profile> findAllByUserIdIn(Collection<String> userIds);
 }
@@ -1,24 +1,26 @@
 package com.example.jobportal.util;
 
-import com.example.jobportal.candidate.entity.Resume;
-import com.example.jobportal.candidate.repository.ResumeRepository;
-import com.example.jobportal.company.entity.Company;
-import com.example.jobportal.company.repository.CompanyRepository;
-import com.example.jobportal.user.entity.Profile;
-import com.example.jobportal.user.entity.User;
-import com.example.jobportal.user.repository.ProfileRepository;
-import com.example.jobportal.user.repository.UserRepository;
+import com.example.jobportal.auth.service.PrincipalAssemblyService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @Component
 public class Jwtutil {
@@ -29,17 +31,38 @@ public class Jwtutil {
     @Value("${application.security.jwt.expiration}")
     private long jwtExpiration;
 
-    @Autowired
-    private UserRepository userRepository;
+    // Access tokens are short-lived; sessions continue through rotating refresh tokens.
+    @Value("${application.security.jwt.access-expiration-ms:900000}")
+    private long accessExpiration;
 
-    @Autowired
-    private ProfileRepository profileRepository;
+    @Value("${application.security.jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
 
-    @Autowired
-    private ResumeRepository resumeRepository;
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // SHA-256 of a token -> its verified claims, until the token expires. Insertion-ordered and
+    // capped at claims-cache-size by dropping the oldest token, so a miss never scans the map.
+    private final ReentrantReadWriteLock claimsLock = new ReentrantReadWriteLock();
+    private Map<String, VerifiedClaims> verifiedClaims;
+
+    private record VerifiedClaims(Claims claims, long expiresAtMillis) {
+    }
 
     @Autowired
-    private CompanyRepository companyRepository;
+    private PrincipalAssemblyService principalAssemblyService;
+
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(JWT_SECRET.getBytes());
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedClaims = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedClaims> eldest) {
+                return size() > claimsCacheSize;
+            }
+        };
+    }
 
     public String generateToken(String username){
         Map<String, Object> claims = generateClaims(username);
@@ -49,6 +72,14 @@ public class Jwtutil {
             throw new IllegalArgumentException("Cannot generate token: User not found or essential claims are missing for: " + username);
         }
 
+        return generateToken(claims, username);
+    }
+
+    /**
+     * Signs an access token from claims assembled earlier by {@link #generateClaims(String)},
+     * without reading the user again.
+     */
+    public String generateToken(Map<String, Object> claims, String username){
         return createToken(claims, username);
     }
 
@@ -56,27 +87,24 @@ public class Jwtutil {
         Map<String, Object> claims = new HashMap<>();
 
         // 1. CRITICAL: Check if User exists first to prevent NPE
-        User user = userRepository.findUserByEmail(username);
-        if (user == null) {
+        // User, profile, resume and company come from one aggregation, shared with the login check.
+        PrincipalAssemblyService.UserAccount account = principalAssemblyService.findByEmail(username).orElse(null);
+        if (account == null || account.deactivated()) {
             return claims; // Return empty map if user not found.
         }
 
         // Add mandatory essential claims (for JwtFilter)
-        claims.put("userId", user.getId());
-        claims.put("role", user.getRole().name()); // Crucial for JwtFilter authorization
+        claims.put("userId", account.userId());
+        claims.put("role", account.role().name()); // Crucial for JwtFilter authorization
+        claims.put("tokenVersion", account.tokenVersion()); // Checked against TokenRevocationService
 
-        // 2. Safely retrieve optional profile IDs (use null for missing profiles)
-
-        Profile profile = profileRepository.getProfileByUserId(user.getId());
-        claims.put("profileId", profile != null ? profile.getId() : null);
-        claims.put("name", profile!=null ? profile.getFirstName()+" "+profile.getLastName() : "");
+        // 2. Optional profile IDs (null for missing profiles)
+        claims.put("profileId", account.profileId());
+        claims.put("name", account.profileId() != null ? account.firstName()+" "+account.lastName() : "");
 
         // Map candidateProfileId to resumeId claim
-        Resume resume = resumeRepository.getResumeByUserId(user.getId());
-        claims.put("resumeId", resume != null ? resume.getId() : null);
-
-        Company company = companyRepository.findCompanyByUserId(user.getId());
-        claims.put("companyId", company != null ? company.getId() : null);
+        claims.put("resumeId", account.resumeId());
+        claims.put("companyId", account.companyId());
 
         return claims;
     }
@@ -86,15 +114,45 @@ public class Jwtutil {
                 .claims(claims)
                 .subject(username)
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .expiration(new Date(System.currentTimeMillis() + Math.min(accessExpiration, jwtExpiration)))
                 .signWith(getSigningKey())
                 .compact();
     }
 
+    /**
+     * Verifies {@code token} and returns its claims, parsing it at most once per token lifetime:
+     * verified claims are cached under the token's SHA-256 until the token expires. Throws the
+     * parser's {@code JwtException} for a bad or expired token.
+     */
+    public Claims verify(String token){
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached;
+        claimsLock.readLock().lock();
+        try {
+            cached = verifiedClaims.get(digest);
+        } finally {
+            claimsLock.readLock().unlock();
+        }
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) return cached.claims();
+            claimsLock.writeLock().lock();
+            try {
+                verifiedClaims.remove(digest, cached);
+            } finally {
+                claimsLock.writeLock().unlock();
+            }
+            throw new ExpiredJwtException(null, cached.claims(), "JWT expired");
+        }
+
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration != null) remember(digest, new VerifiedClaims(claims, expiration.getTime()));
+        return claims;
+    }
+
     public Claims extractAllClaims(String token){
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -116,6 +174,26 @@ public class Jwtutil {
     }
 
     public SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(JWT_SECRET.getBytes());
+        return signingKey;
+    }
+
+    private void remember(String digest, VerifiedClaims entry) {
+        claimsLock.writeLock().lock();
+        try {
+            verifiedClaims.put(digest, entry);
+        } finally {
+            claimsLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hex SHA-256 of {@code token}; tokens are only ever stored or cached under this.
+     */
+    public static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
\ No newline at end of file
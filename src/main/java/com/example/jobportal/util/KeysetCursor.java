@@ -0,0 +1,39 @@
+package com.example.jobportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque cursor for keyset pagination over a (timestamp, id) sort key.
+ * Clients only ever see the encoded form and hand it back unchanged.
+ */
+public record KeysetCursor(long timestamp, String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public static KeysetCursor of(Date timestamp, String id) {
+        return new KeysetCursor(timestamp != null ? timestamp.getTime() : 0L, id);
+    }
+
+    public Date date() {
+        return new Date(timestamp);
+    }
+
+    public String encode() {
+        String raw = Long.toString(timestamp, 36) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) throw new IllegalArgumentException("Invalid cursor");
+            return new KeysetCursor(Long.parseLong(raw.substring(0, separator), 36), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
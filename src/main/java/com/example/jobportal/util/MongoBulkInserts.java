@@ -0,0 +1,52 @@
+package com.example.jobportal.util;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Idempotent batch inserts: documents whose unique key already exists are skipped, so a batch
+ * can be replayed after a partial failure.
+ */
+public final class MongoBulkInserts {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private MongoBulkInserts() {
+    }
+
+    /**
+     * Inserts {@code documents} with one unordered bulk write and returns how many were new.
+     * Duplicate-key failures are ignored; any other write error is rethrown.
+     */
+    public static int insertIgnoringDuplicates(MongoTemplate mongoTemplate, Class<?> entityClass, Collection<?> documents) {
+        return documents.size() - insertReportingDuplicates(mongoTemplate, entityClass, List.copyOf(documents)).size();
+    }
+
+    /**
+     * Inserts {@code documents} with one unordered bulk write and returns the positions of those
+     * rejected by a unique index. Any other write error is rethrown.
+     */
+    public static Set<Integer> insertReportingDuplicates(MongoTemplate mongoTemplate, Class<?> entityClass, List<?> documents) {
+        if (documents.isEmpty()) return Set.of();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass);
+        bulk.insert(documents.stream().map(Object.class::cast).toList());
+        try {
+            bulk.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) throw e;
+                duplicates.add(error.getIndex());
+            }
+            return duplicates;
+        }
+    }
+}